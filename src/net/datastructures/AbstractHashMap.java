@@ -22,7 +22,7 @@
  */
 package net.datastructures;
 
-import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.Random;
 
 /**
@@ -37,7 +37,9 @@ import java.util.Random;
  *   createTable(), bucketGet(h,k), bucketPut(h,k,v),
  *   bucketRemove(h,k), and entrySet()
  * and for accurately maintaining the protected member, n,
- * to reflect changes within bucketPut and bucketRemove.
+ * to reflect changes within bucketPut and bucketRemove. The iterator of
+ * entrySet() must keep walking the table that was current when it was
+ * created, because resizing reinserts the entries while iterating over it.
  *
  * @author Michael T. Goodrich
  * @author Roberto Tamassia
@@ -88,7 +90,12 @@ public abstract class AbstractHashMap<K,V> extends AbstractMap<K,V> {
    * @return the previous value associated with the removed key, or null if no such entry exists
    */
   @Override
-  public V remove(K key) { return bucketRemove(hashValue(key), key); }
+  public V remove(K key) {
+    int oldSize = n;
+    V answer = bucketRemove(hashValue(key), key);
+    if (n != oldSize) modCount++;
+    return answer;
+  }
 
   /**
    * Associates the given value with the given key. If an entry with
@@ -101,7 +108,10 @@ public abstract class AbstractHashMap<K,V> extends AbstractMap<K,V> {
    */
   @Override
   public V put(K key, V value) {
+    int oldSize = n;
     V answer = bucketPut(hashValue(key), key, value);
+    if (n == oldSize) return answer;   // an existing entry was updated
+    modCount++;
     if (n > capacity / 2)              // keep load factor <= 0.5
       resize(2 * capacity - 1);        // (or find a nearby prime)
     return answer;
@@ -113,16 +123,16 @@ public abstract class AbstractHashMap<K,V> extends AbstractMap<K,V> {
     return (int) ((Math.abs(key.hashCode()*scale + shift) % prime) % capacity);
   }
 
-  /** Updates the size of the hash table and rehashes all entries. */
+  /** Updates the size of the hash table and rehashes all entries straight into the new table. */
   private void resize(int newCap) {
-    ArrayList<Entry<K,V>> buffer = new ArrayList<>(n);
-    for (Entry<K,V> e : entrySet())
-      buffer.add(e);
+    Iterator<Entry<K,V>> old = entrySet().iterator();   // keeps walking the old table
     capacity = newCap;
     createTable();                     // based on updated capacity
     n = 0;                             // will be recomputed while reinserting entries
-    for (Entry<K,V> e : buffer)
-      put(e.getKey(), e.getValue());
+    while (old.hasNext()) {
+      Entry<K,V> e = old.next();
+      bucketPut(hashValue(e.getKey()), e.getKey(), e.getValue());
+    }
   }
 
   // protected abstract methods to be implemented by subclasses
@@ -32,13 +32,20 @@ import java.util.Iterator;
  * 2) It defines a protected MapEntry class as a concrete implementation of the
  *    entry interface
  * 3) It provides implemenations of the keySet and values methods, based upon use
- *    of a presumed implementation of the entrySet method.
+ *    of a presumed implementation of the entrySet method. They are lazy views, so
+ *    they are as cheap as the iterator of entrySet.
+ * 4) It keeps a modification count for the fail-fast iterators of subclasses.
  *
  * @author Michael T. Goodrich
  * @author Roberto Tamassia
  * @author Michael H. Goldwasser
  */
 public abstract class AbstractMap<K,V> implements Map<K,V> {
+  /**
+   * Number of structural modifications (insertions and removals of entries). The
+   * iterators of subclasses record it when created and fail once it changes.
+   */
+  protected int modCount = 0;
 
   /**
    * Tests whether the map is empty.
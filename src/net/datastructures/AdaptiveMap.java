@@ -0,0 +1,226 @@
+package net.datastructures;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A map that stores few entries in a small array and many in a hash table.
+ *
+ * Up to a threshold number of entries (8 by default), keys and values are kept
+ * side by side in one array and found by linear scan, which for such sizes is as
+ * fast as hashing and needs no table, no per-entry objects and no empty slots.
+ * The array is created on the first insertion with room for one entry and doubles
+ * as needed. Inserting an entry beyond the threshold promotes the map to a
+ * RobinHoodHashMap; removals that bring it back to half the threshold demote it
+ * to an array again, so a map does not switch representation on every update near
+ * the threshold.
+ *
+ * It is meant for the adjacency maps of graphs whose vertices mostly have low
+ * degree. Its keySet and values views walk the array directly, while entrySet
+ * creates an entry object per entry while the map is small.
+ */
+public class AdaptiveMap<K,V> extends AbstractMap<K,V> {
+  /** The default largest number of entries kept in the array. */
+  public static final int DEFAULT_THRESHOLD = 8;
+  private static final Object[] EMPTY = new Object[0];
+
+  private final int threshold;             // largest number of entries kept in the array
+  private Object[] slots = EMPTY;          // key at 2i and value at 2i+1, for i < n
+  private int n = 0;                       // number of entries in the array
+  private RobinHoodHashMap<K,V> large;     // the entries once promoted, or null
+
+  /** Creates an empty map with the default threshold. */
+  public AdaptiveMap() { this(DEFAULT_THRESHOLD); }
+
+  /**
+   * Creates an empty map that keeps up to the given number of entries in an array.
+   * @throws IllegalArgumentException if threshold is less than 1
+   */
+  public AdaptiveMap(int threshold) {
+    if (threshold < 1) throw new IllegalArgumentException("Threshold must be positive");
+    this.threshold = threshold;
+  }
+
+  /**
+   * Returns the number of entries in the map.
+   * @return number of entries in the map
+   */
+  @Override
+  public int size() { return large == null ? n : large.size(); }
+
+  /**
+   * Returns the value associated with the specified key, or null if no such entry exists.
+   * @param key  the key whose associated value is to be returned
+   * @return the associated value, or null if no such entry exists
+   */
+  @Override
+  @SuppressWarnings({"unchecked"})
+  public V get(K key) {
+    if (large != null) return large.get(key);
+    int j = findIndex(key);
+    return j < 0 ? null : (V) slots[j + 1];
+  }
+
+  /**
+   * Associates the given value with the given key. If an entry with
+   * the key was already in the map, this replaced the previous value
+   * with the new one and returns the old value. Otherwise, a new
+   * entry is added and null is returned.
+   * @param key    key with which the specified value is to be associated
+   * @param value  value to be associated with the specified key
+   * @return the previous value associated with the key (or null, if no such entry)
+   */
+  @Override
+  @SuppressWarnings({"unchecked"})
+  public V put(K key, V value) {
+    if (large == null) {
+      int j = findIndex(key);
+      if (j >= 0) {                             // this key has an existing entry
+        V old = (V) slots[j + 1];
+        slots[j + 1] = value;
+        return old;
+      }
+      if (n < threshold) {
+        if (2 * n == slots.length)
+          resize(Math.max(1, Math.min(2 * n, threshold)));
+        slots[2 * n] = key;
+        slots[2 * n + 1] = value;
+        n++;
+        modCount++;
+        return null;
+      }
+      promote();
+    }
+    int before = large.size();
+    V answer = large.put(key, value);
+    if (large.size() != before) modCount++;
+    return answer;
+  }
+
+  /**
+   * Removes the entry with the specified key, if present, and returns
+   * its associated value. Otherwise does nothing and returns null.
+   * @param key  the key whose entry is to be removed from the map
+   * @return the previous value associated with the removed key, or null if no such entry exists
+   */
+  @Override
+  @SuppressWarnings({"unchecked"})
+  public V remove(K key) {
+    if (large != null) {
+      int before = large.size();
+      V answer = large.remove(key);
+      if (large.size() != before) {
+        modCount++;
+        if (large.size() <= threshold / 2) demote();
+      }
+      return answer;
+    }
+    int j = findIndex(key);
+    if (j < 0) return null;                     // nothing to remove
+    V answer = (V) slots[j + 1];
+    n--;
+    slots[j] = slots[2 * n];                    // the last entry fills the gap
+    slots[j + 1] = slots[2 * n + 1];
+    slots[2 * n] = null;
+    slots[2 * n + 1] = null;
+    modCount++;
+    return answer;
+  }
+
+  //---------------- nested SmallIterator class ----------------
+  /**
+   * Walks the array directly, returning keys (part 0), values (part 1) or new
+   * entries (part 2), and failing if the map is structurally modified meanwhile.
+   */
+  private class SmallIterator<T> implements Iterator<T> {
+    private final Object[] array = slots;          // the array being walked
+    private final int count = n;
+    private final int expected = modCount;
+    private final int part;
+    private int j = 0;                             // index of the next entry
+    SmallIterator(int part) { this.part = part; }
+    public boolean hasNext() { return j < count; }
+    @SuppressWarnings({"unchecked"})
+    public T next() {
+      if (modCount != expected) throw new ConcurrentModificationException();
+      if (j == count) throw new NoSuchElementException("No further entries");
+      int k = 2 * j++;
+      if (part == 2)
+        return (T) new MapEntry<>((K) array[k], (V) array[k + 1]);
+      return (T) array[k + part];
+    }
+    public void remove() { throw new UnsupportedOperationException("remove not supported"); }
+  } //----------- end of nested SmallIterator class -----------
+
+  //---------------- nested PartIterable class ----------------
+  /** A view that walks the array or the hash table, whichever holds the entries. */
+  private class PartIterable<T> implements Iterable<T> {
+    private final int part;
+    PartIterable(int part) { this.part = part; }
+    @SuppressWarnings({"unchecked"})
+    public Iterator<T> iterator() {
+      if (large == null) return new SmallIterator<>(part);
+      Iterable<?> view = part == 0 ? large.keySet() : part == 1 ? large.values() : large.entrySet();
+      return (Iterator<T>) view.iterator();
+    }
+  } //----------- end of nested PartIterable class -----------
+
+  /**
+   * Returns an iterable collection of the keys contained in the map.
+   * @return iterable collection of the map's keys
+   */
+  @Override
+  public Iterable<K> keySet() { return new PartIterable<>(0); }
+
+  /**
+   * Returns an iterable collection of the values contained in the map.
+   * @return iterable collection of the map's values
+   */
+  @Override
+  public Iterable<V> values() { return new PartIterable<>(1); }
+
+  /**
+   * Returns an iterable collection of all key-value entries of the map.
+   * @return iterable collection of the map's entries
+   */
+  @Override
+  public Iterable<Entry<K,V>> entrySet() { return new PartIterable<>(2); }
+
+  // private utilities
+  /** Returns the array index of key k, or -1 if the array has no such key. */
+  private int findIndex(Object k) {
+    for (int j = 0; j < 2 * n; j += 2)
+      if (slots[j] == k || slots[j].equals(k))
+        return j;
+    return -1;
+  }
+
+  /** Replaces the array with one having room for the given number of entries. */
+  private void resize(int capacity) {
+    Object[] temp = new Object[2 * capacity];
+    System.arraycopy(slots, 0, temp, 0, 2 * n);
+    slots = temp;
+  }
+
+  /** Moves the entries from the array to a new hash table. */
+  @SuppressWarnings({"unchecked"})
+  private void promote() {
+    large = new RobinHoodHashMap<>(2 * threshold);
+    for (int j = 0; j < 2 * n; j += 2)
+      large.put((K) slots[j], (V) slots[j + 1]);
+    slots = EMPTY;
+    n = 0;
+  }
+
+  /** Moves the entries from the hash table back to a new array. */
+  private void demote() {
+    slots = new Object[2 * threshold];
+    for (Entry<K,V> e : large.entrySet()) {
+      slots[2 * n] = e.getKey();
+      slots[2 * n + 1] = e.getValue();
+      n++;
+    }
+    large = null;
+  }
+}
@@ -22,20 +22,34 @@
  */
 package net.datastructures;
 
+import java.util.Arrays;
+
 /**
  * An implementation for a graph structure using an adjacency map for each vertex.
  *
  * Every vertex stores an element of type V.
  * Every edge stores an element of type E.
  *
+ * The adjacency maps are AdaptiveMaps: most vertices of a network have only one
+ * or two neighbors, and such maps keep them in a small array rather than in a
+ * hash table, which is only created for vertices of higher degree.
+ *
+ * Vertices and edges also carry dense integer ids (see IndexedGraph), so that
+ * algorithms can keep their per-vertex and per-edge state in arrays. Removing a
+ * vertex or an edge gives its id to the last one, keeping the ids dense.
+ *
  * @author Michael T. Goodrich
  * @author Roberto Tamassia
  * @author Michael H. Goldwasser
  */
-public class AdjacencyMapGraph<V,E> implements Graph<V,E> {
+public class AdjacencyMapGraph<V,E> implements IndexedGraph<V,E> {
   private boolean isDirected;
   private PositionalList<Vertex<V>> vertices = new LinkedPositionalList<>();
   private PositionalList<Edge<E>> edges = new LinkedPositionalList<>();
+  @SuppressWarnings({"unchecked"})
+  private InnerVertex<V>[] vertexById = (InnerVertex<V>[]) new AdjacencyMapGraph.InnerVertex[16];
+  @SuppressWarnings({"unchecked"})
+  private InnerEdge<E>[] edgeById = (InnerEdge<E>[]) new AdjacencyMapGraph.InnerEdge[16];
 
   /**
    * Constructs an empty graph.
@@ -99,6 +113,28 @@ public class AdjacencyMapGraph<V,E> implements Graph<V,E> {
     return vert.getIncoming().values();   // edges are the values in the adjacency map
   }
 
+  /** Returns the dense id of vertex v, in [0, numVertices()). */
+  public int vertexId(Vertex<V> v) throws IllegalArgumentException {
+    return validate(v).getIndex();
+  }
+
+  /** Returns the vertex having the given dense id. */
+  public Vertex<V> vertexAt(int id) {
+    if (id < 0 || id >= vertices.size()) throw new IndexOutOfBoundsException("Illegal vertex id: " + id);
+    return vertexById[id];
+  }
+
+  /** Returns the dense id of edge e, in [0, numEdges()). */
+  public int edgeId(Edge<E> e) throws IllegalArgumentException {
+    return validate(e).getIndex();
+  }
+
+  /** Returns the edge having the given dense id. */
+  public Edge<E> edgeAt(int id) {
+    if (id < 0 || id >= edges.size()) throw new IndexOutOfBoundsException("Illegal edge id: " + id);
+    return edgeById[id];
+  }
+
   /** Returns the edge from u to v, or null if they are not adjacent. */
   public Edge<E> getEdge(Vertex<V> u, Vertex<V> v) throws IllegalArgumentException {
     InnerVertex<V> origin = validate(u);
@@ -132,6 +168,10 @@ public class AdjacencyMapGraph<V,E> implements Graph<V,E> {
   /** Inserts and returns a new vertex with the given element. */
   public Vertex<V> insertVertex(V element) {
     InnerVertex<V> v = new InnerVertex<>(element, isDirected);
+    if (vertices.size() == vertexById.length)
+      vertexById = Arrays.copyOf(vertexById, 2 * vertexById.length);
+    v.setIndex(vertices.size());
+    vertexById[v.getIndex()] = v;
     v.setPosition(vertices.addLast(v));
     return v;
   }
@@ -144,10 +184,14 @@ public class AdjacencyMapGraph<V,E> implements Graph<V,E> {
   public Edge<E> insertEdge(Vertex<V> u, Vertex<V> v, E element)
                                                throws IllegalArgumentException {
     if (getEdge(u,v) == null) {
-      InnerEdge<E> e = new InnerEdge<>(u, v, element);
-      e.setPosition(edges.addLast(e));
       InnerVertex<V> origin = validate(u);
       InnerVertex<V> dest = validate(v);
+      InnerEdge<E> e = new InnerEdge<>(u, v, element);
+      if (edges.size() == edgeById.length)
+        edgeById = Arrays.copyOf(edgeById, 2 * edgeById.length);
+      e.setIndex(edges.size());
+      edgeById[e.getIndex()] = e;
+      e.setPosition(edges.addLast(e));
       origin.getOutgoing().put(v, e);
       dest.getIncoming().put(u, e);
       return e;
@@ -158,27 +202,39 @@ public class AdjacencyMapGraph<V,E> implements Graph<V,E> {
   /** Removes a vertex and all its incident edges from the graph. */
   public void removeVertex(Vertex<V> v) throws IllegalArgumentException {
     InnerVertex<V> vert = validate(v);
-    // remove all incident edges from the graph
+    // remove all incident edges from the graph; the maps are views, so copy them first
+    PositionalList<Edge<E>> incident = new LinkedPositionalList<>();
     for (Edge<E> e : vert.getOutgoing().values())
+      incident.addLast(e);
+    if (isDirected)
+      for (Edge<E> e : vert.getIncoming().values())
+        if (endVertices(e)[0] != v)     // self-loops were already collected
+          incident.addLast(e);
+    for (Edge<E> e : incident)
       removeEdge(e);
-    for (Edge<E> e : vert.getIncoming().values())
-      removeEdge(e);
-    // remove this vertex from the list of vertices
+    // remove this vertex from the list of vertices; the last vertex takes over its id
     vertices.remove(vert.getPosition());
     vert.setPosition(null);             // invalidates the vertex
+    InnerVertex<V> last = vertexById[vertices.size()];
+    last.setIndex(vert.getIndex());
+    vertexById[last.getIndex()] = last;
+    vertexById[vertices.size()] = null;
   }
 
-  @SuppressWarnings({"unchecked"})
   /** Removes an edge from the graph. */
   public void removeEdge(Edge<E> e) throws IllegalArgumentException {
     InnerEdge<E> edge = validate(e);
     // remove this edge from vertices' adjacencies
-    InnerVertex<V>[] verts = (InnerVertex<V>[]) edge.getEndpoints();
-    verts[0].getOutgoing().remove(verts[1]);
-    verts[1].getIncoming().remove(verts[0]);
-    // remove this edge from the list of edges
+    Vertex<V>[] verts = edge.getEndpoints();
+    validate(verts[0]).getOutgoing().remove(verts[1]);
+    validate(verts[1]).getIncoming().remove(verts[0]);
+    // remove this edge from the list of edges; the last edge takes over its id
     edges.remove(edge.getPosition());
     edge.setPosition(null);             // invalidates the edge
+    InnerEdge<E> last = edgeById[edges.size()];
+    last.setIndex(edge.getIndex());
+    edgeById[last.getIndex()] = last;
+    edgeById[edges.size()] = null;
   }
 
   @SuppressWarnings({"unchecked"})
@@ -202,14 +258,15 @@ public class AdjacencyMapGraph<V,E> implements Graph<V,E> {
   private class InnerVertex<V> implements Vertex<V> {
     private V element;
     private Position<Vertex<V>> pos;
+    private int index;                  // dense id within the graph
     private Map<Vertex<V>, Edge<E>> outgoing, incoming;
 
     /** Constructs a new InnerVertex instance storing the given element. */
     public InnerVertex(V elem, boolean graphIsDirected) {
       element = elem;
-      outgoing = new ProbeHashMap<>();
+      outgoing = new AdaptiveMap<>();
       if (graphIsDirected)
-        incoming = new ProbeHashMap<>();
+        incoming = new AdaptiveMap<>();
       else
         incoming = outgoing;    // if undirected, alias outgoing map
     }
@@ -228,6 +285,12 @@ public class AdjacencyMapGraph<V,E> implements Graph<V,E> {
     /** Returns the position of this vertex within the graph's vertex list. */
     public Position<Vertex<V>> getPosition() { return pos; }
 
+    /** Stores the dense id of this vertex. */
+    public void setIndex(int i) { index = i; }
+
+    /** Returns the dense id of this vertex. */
+    public int getIndex() { return index; }
+
     /** Returns reference to the underlying map of outgoing edges. */
     public Map<Vertex<V>, Edge<E>> getOutgoing() { return outgoing; }
 
@@ -240,6 +303,7 @@ public class AdjacencyMapGraph<V,E> implements Graph<V,E> {
   private class InnerEdge<E> implements Edge<E> {
     private E element;
     private Position<Edge<E>> pos;
+    private int index;                  // dense id within the graph
     private Vertex<V>[] endpoints;
 
     @SuppressWarnings({"unchecked"})
@@ -265,6 +329,12 @@ public class AdjacencyMapGraph<V,E> implements Graph<V,E> {
 
     /** Returns the position of this edge within the graph's vertex list. */
     public Position<Edge<E>> getPosition() { return pos; }
+
+    /** Stores the dense id of this edge. */
+    public void setIndex(int i) { index = i; }
+
+    /** Returns the dense id of this edge. */
+    public int getIndex() { return index; }
   } //------------ end of InnerEdge class ------------
 
   /**
@@ -0,0 +1,193 @@
+package net.datastructures;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A minimum spanning forest of a CSR graph computed with Boruvka's algorithm in parallel.
+ *
+ * Every round finds the cheapest edge leaving each component and adds all of them at
+ * once, which at least halves the number of components that still have outgoing edges.
+ * Both steps of a round run on a ForkJoinPool: the edges are scanned in fixed chunks,
+ * each chunk dropping the edges that became internal to a component and lowering the
+ * cheapest key of both endpoint components with compare-and-set, and the chosen edges
+ * are then merged through a concurrent union-find.
+ *
+ * Edges are compared by (weight, id), the same order used by the CSR version of Kruskal
+ * in GraphAlgorithms. Under a strict total order the minimum spanning forest is unique,
+ * so both engines return the same edges even when weights are tied.
+ */
+public class BoruvkaMST<V> {
+  /** Number of edges or vertices below which a task is no longer split. */
+  private static final int GRAIN = 4096;
+  private static final long NONE = Long.MAX_VALUE;
+
+  private final CSRGraph<V,Integer> graph;
+  private final boolean[] inForest;
+  private long totalWeight;
+  private int size;
+  private int rounds;
+
+  /** Computes the minimum spanning forest of g, whose edge weights are those of the snapshot. */
+  public BoruvkaMST(CSRGraph<V,Integer> g, ForkJoinPool pool) {
+    graph = g;
+    int n = g.numVertices();
+    int m = g.numEdges();
+    inForest = new boolean[m];
+    ConcurrentUnionFind components = new ConcurrentUnionFind(n);
+    AtomicLongArray cheapest = new AtomicLongArray(n);
+
+    // edges still joining different components; chunk c keeps them in live[from[c] .. end[c]-1]
+    int[] live = new int[m];
+    for (int e = 0; e < m; e++)
+      live[e] = e;
+    int chunks = Math.max(1, Math.min(4 * pool.getParallelism(), (m + GRAIN - 1) / GRAIN));
+    int[] from = new int[chunks + 1];
+    int[] end = new int[chunks];
+    for (int c = 0; c <= chunks; c++)
+      from[c] = (int) ((long) m * c / chunks);
+    System.arraycopy(from, 1, end, 0, chunks);
+
+    while (true) {
+      for (int v = 0; v < n; v++)
+        cheapest.set(v, NONE);
+      pool.invoke(new Scan(components, cheapest, live, from, end, 0, chunks));
+      int merged = pool.invoke(new Merge(components, cheapest, 0, n));
+      if (merged == 0) break;
+      rounds++;
+      size += merged;
+    }
+    for (int e = 0; e < m; e++)
+      if (inForest[e])
+        totalWeight += g.edgeWeight(e);
+  }
+
+  /** Returns the key ordering edge e: its weight, with ties broken by id. */
+  private long key(int e) {
+    return ((long) graph.edgeWeight(e) << 32) | e;
+  }
+
+  /**
+   * Returns the edges of the forest in increasing order of (weight, id), which is the
+   * order in which Kruskal accepts them.
+   */
+  public PositionalList<Edge<Integer>> edges() {
+    long[] keys = new long[size];
+    int k = 0;
+    for (int e = 0; e < inForest.length; e++)
+      if (inForest[e])
+        keys[k++] = key(e);
+    Arrays.sort(keys);
+    PositionalList<Edge<Integer>> tree = new LinkedPositionalList<>();
+    for (long key : keys)
+      tree.addLast(graph.edgeAt((int) key));
+    return tree;
+  }
+
+  /** Returns true if the edge with the given id belongs to the forest. */
+  public boolean contains(int edge) { return inForest[edge]; }
+
+  /** Returns the number of edges of the forest. */
+  public int numEdges() { return size; }
+
+  /** Returns the total weight of the forest. */
+  public long getTotalWeight() { return totalWeight; }
+
+  /** Returns the number of rounds that added edges. */
+  public int getRounds() { return rounds; }
+
+  //---------------- nested Scan class ----------------
+  /** Task lowering the cheapest key of each component over a range of chunks of live edges. */
+  private class Scan extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final ConcurrentUnionFind components;
+    private final AtomicLongArray cheapest;
+    private final int[] live, from, end;
+    private final int lo, hi;                  // range of chunks handled by this task
+
+    Scan(ConcurrentUnionFind components, AtomicLongArray cheapest, int[] live, int[] from, int[] end,
+         int lo, int hi) {
+      this.components = components;
+      this.cheapest = cheapest;
+      this.live = live;
+      this.from = from;
+      this.end = end;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo > 1) {
+        int mid = (lo + hi) >>> 1;
+        invokeAll(new Scan(components, cheapest, live, from, end, lo, mid),
+                  new Scan(components, cheapest, live, from, end, mid, hi));
+        return;
+      }
+      int kept = from[lo];
+      for (int j = from[lo]; j < end[lo]; j++) {
+        int e = live[j];
+        int a = components.find(graph.edgeSource(e));
+        int b = components.find(graph.edgeTarget(e));
+        if (a == b) continue;                  // internal to a component from now on
+        live[kept++] = e;
+        long k = key(e);
+        lower(a, k);
+        lower(b, k);
+      }
+      end[lo] = kept;
+    }
+
+    /** Sets the key of component c to k if k is smaller. */
+    private void lower(int c, long k) {
+      long current;
+      while (k < (current = cheapest.get(c)))
+        if (cheapest.compareAndSet(c, current, k)) return;
+    }
+  } //----------- end of nested Scan class -----------
+
+  //---------------- nested Merge class ----------------
+  /**
+   * Task merging, for a range of component leaders, each leader with the other end of its
+   * cheapest edge. Returns the number of edges added; an edge chosen by both of its
+   * components is added only once, by the union that succeeds.
+   */
+  private class Merge extends RecursiveTask<Integer> {
+    private static final long serialVersionUID = 1L;
+    private final ConcurrentUnionFind components;
+    private final AtomicLongArray cheapest;
+    private final int lo, hi;                  // range of vertices handled by this task
+
+    Merge(ConcurrentUnionFind components, AtomicLongArray cheapest, int lo, int hi) {
+      this.components = components;
+      this.cheapest = cheapest;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected Integer compute() {
+      if (hi - lo > GRAIN) {
+        int mid = (lo + hi) >>> 1;
+        Merge left = new Merge(components, cheapest, lo, mid);
+        left.fork();
+        int right = new Merge(components, cheapest, mid, hi).compute();
+        return right + left.join();
+      }
+      int merged = 0;
+      for (int v = lo; v < hi; v++) {
+        long k = cheapest.get(v);
+        if (k == NONE) continue;
+        int e = (int) k;
+        if (components.union(graph.edgeSource(e), graph.edgeTarget(e))) {
+          inForest[e] = true;
+          merged++;
+        }
+      }
+      return merged;
+    }
+  } //----------- end of nested Merge class -----------
+}
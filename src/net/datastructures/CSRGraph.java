@@ -0,0 +1,309 @@
+package net.datastructures;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+/**
+ * A read-only snapshot of a graph in compressed sparse row (CSR) form.
+ *
+ * Vertices are numbered with dense ids 0..n-1. The arcs leaving vertex u occupy
+ * positions offsets[u] .. offsets[u+1]-1 of the parallel arrays targets (the id of
+ * the opposite vertex), weights (the integral weight of the arc) and arcEdges (the
+ * original edge). An undirected edge is stored as two arcs, one per direction.
+ * Edges are also numbered with dense ids 0..m-1.
+ *
+ * The snapshot keeps references to the original Vertex and Edge instances, so it
+ * can be used wherever a Graph is expected; mutating methods are not supported.
+ * Changes made to the original graph after construction are not reflected.
+ */
+public class CSRGraph<V,E> implements IndexedGraph<V,E> {
+  private final boolean isDirected;
+  private final Vertex<V>[] vertexOf;            // vertex for each id
+  private final ObjIntMap<Vertex<V>> idOf;       // id for each vertex
+  private final Edge<E>[] edgeOf;                // edge for each id
+  private final ObjIntMap<Edge<E>> edgeIdOf;     // id for each edge
+  private final int[] edgeSource, edgeTarget, edgeWeight;
+
+  private final int[] offsets;                   // outgoing arcs of u in [offsets[u], offsets[u+1])
+  private final int[] targets;
+  private final int[] weights;
+  private final Edge<E>[] arcEdges;
+
+  private final int[] inOffsets;                 // incoming arcs (aliases outgoing if undirected)
+  private final int[] inSources;
+  private final int[] inWeights;
+  private final Edge<E>[] inArcEdges;
+
+  /**
+   * Builds a CSR snapshot of graph g.
+   *
+   * @param g the graph to copy
+   * @param weight function extracting the integral weight of an edge element
+   */
+  @SuppressWarnings({"unchecked"})
+  public CSRGraph(Graph<V,E> g, ToIntFunction<E> weight) {
+    int n = g.numVertices();
+    int m = g.numEdges();
+    isDirected = detectDirected(g);
+    vertexOf = (Vertex<V>[]) new Vertex[n];
+    idOf = new ObjIntMap<>(n);
+    int id = 0;
+    for (Vertex<V> v : g.vertices()) {
+      vertexOf[id] = v;
+      idOf.put(v, id++);
+    }
+
+    edgeOf = (Edge<E>[]) new Edge[m];
+    edgeIdOf = new ObjIntMap<>(m);
+    edgeSource = new int[m];
+    edgeTarget = new int[m];
+    edgeWeight = new int[m];
+    int[] outCount = new int[n + 1];
+    int[] inCount = new int[n + 1];
+    id = 0;
+    for (Edge<E> e : g.edges()) {
+      Vertex<V>[] ends = g.endVertices(e);
+      edgeOf[id] = e;
+      edgeIdOf.put(e, id);
+      edgeSource[id] = idOf.get(ends[0], -1);
+      edgeTarget[id] = idOf.get(ends[1], -1);
+      edgeWeight[id] = weight.applyAsInt(e.getElement());
+      outCount[edgeSource[id] + 1]++;
+      if (isDirected)
+        inCount[edgeTarget[id] + 1]++;
+      else
+        outCount[edgeTarget[id] + 1]++;   // undirected edges are also leaving their target
+      id++;
+    }
+
+    // prefix sums give the start of each vertex's block of arcs
+    offsets = outCount;
+    for (int u = 0; u < n; u++)
+      offsets[u + 1] += offsets[u];
+    targets = new int[offsets[n]];
+    weights = new int[offsets[n]];
+    arcEdges = (Edge<E>[]) new Edge[offsets[n]];
+    int[] next = new int[n];
+    for (int u = 0; u < n; u++)
+      next[u] = offsets[u];
+
+    if (isDirected) {
+      inOffsets = inCount;
+      for (int u = 0; u < n; u++)
+        inOffsets[u + 1] += inOffsets[u];
+      inSources = new int[inOffsets[n]];
+      inWeights = new int[inOffsets[n]];
+      inArcEdges = (Edge<E>[]) new Edge[inOffsets[n]];
+      int[] nextIn = new int[n];
+      for (int u = 0; u < n; u++)
+        nextIn[u] = inOffsets[u];
+      for (int k = 0; k < m; k++) {
+        int a = edgeSource[k], b = edgeTarget[k];
+        addArc(targets, weights, arcEdges, next[a]++, b, k);
+        addArc(inSources, inWeights, inArcEdges, nextIn[b]++, a, k);
+      }
+    } else {
+      inOffsets = offsets;
+      inSources = targets;
+      inWeights = weights;
+      inArcEdges = arcEdges;
+      for (int k = 0; k < m; k++) {
+        int a = edgeSource[k], b = edgeTarget[k];
+        addArc(targets, weights, arcEdges, next[a]++, b, k);
+        addArc(targets, weights, arcEdges, next[b]++, a, k);
+      }
+    }
+  }
+
+  /** Stores arc number k of the given arrays, leading to vertex v along edge id e. */
+  private void addArc(int[] ends, int[] wgts, Edge<E>[] arcs, int k, int v, int e) {
+    ends[k] = v;
+    wgts[k] = edgeWeight[e];
+    arcs[k] = edgeOf[e];
+  }
+
+  /**
+   * Determines whether g is directed. In an undirected graph the edge (u,v) is
+   * also returned when asking for the edge from v to u, so the first edge that is
+   * not a self-loop decides. A graph without such edges is treated as undirected.
+   */
+  private static <V,E> boolean detectDirected(Graph<V,E> g) {
+    if (g instanceof CSRGraph) return ((CSRGraph<V,E>) g).isDirected;
+    for (Edge<E> e : g.edges()) {
+      Vertex<V>[] ends = g.endVertices(e);
+      if (ends[0] != ends[1])
+        return g.getEdge(ends[1], ends[0]) != e;
+    }
+    return false;
+  }
+
+  //---------------- dense id API ----------------
+  /** Returns the dense id of vertex v. */
+  public int vertexId(Vertex<V> v) throws IllegalArgumentException {
+    int id = (v == null) ? -1 : idOf.get(v, -1);
+    if (id < 0) throw new IllegalArgumentException("Invalid vertex");
+    return id;
+  }
+
+  /** Returns the vertex having the given dense id. */
+  public Vertex<V> vertexAt(int id) { return vertexOf[id]; }
+
+  /** Returns the dense id of edge e. */
+  public int edgeId(Edge<E> e) throws IllegalArgumentException {
+    int id = (e == null) ? -1 : edgeIdOf.get(e, -1);
+    if (id < 0) throw new IllegalArgumentException("Invalid edge");
+    return id;
+  }
+
+  /** Returns the edge having the given dense id. */
+  public Edge<E> edgeAt(int id) { return edgeOf[id]; }
+
+  /** Returns the id of the first endpoint of the edge with the given id. */
+  public int edgeSource(int id) { return edgeSource[id]; }
+
+  /** Returns the id of the second endpoint of the edge with the given id. */
+  public int edgeTarget(int id) { return edgeTarget[id]; }
+
+  /** Returns the weight of the edge with the given id. */
+  public int edgeWeight(int id) { return edgeWeight[id]; }
+
+  /** Returns the index of the first arc leaving vertex u. */
+  public int firstArc(int u) { return offsets[u]; }
+
+  /** Returns one past the index of the last arc leaving vertex u. */
+  public int endArc(int u) { return offsets[u + 1]; }
+
+  /** Returns the id of the vertex reached by arc k. */
+  public int arcTarget(int k) { return targets[k]; }
+
+  /** Returns the weight of arc k. */
+  public int arcWeight(int k) { return weights[k]; }
+
+  /** Returns the original edge traversed by arc k. */
+  public Edge<E> arcEdge(int k) { return arcEdges[k]; }
+
+  /** Returns the index of the first arc entering vertex v. */
+  public int firstInArc(int v) { return inOffsets[v]; }
+
+  /** Returns one past the index of the last arc entering vertex v. */
+  public int endInArc(int v) { return inOffsets[v + 1]; }
+
+  /** Returns the id of the vertex at the origin of incoming arc k. */
+  public int inArcSource(int k) { return inSources[k]; }
+
+  /** Returns the weight of incoming arc k. */
+  public int inArcWeight(int k) { return inWeights[k]; }
+
+  /** Returns true if this snapshot was taken from a directed graph. */
+  public boolean isDirected() { return isDirected; }
+
+  //---------------- Graph interface ----------------
+  /** Returns the number of vertices of the graph */
+  public int numVertices() { return vertexOf.length; }
+
+  /** Returns the number of edges of the graph */
+  public int numEdges() { return edgeOf.length; }
+
+  /** Returns the vertices of the graph as an iterable collection */
+  public Iterable<Vertex<V>> vertices() { return new ArrayIterable<>(vertexOf, 0, vertexOf.length); }
+
+  /** Returns the edges of the graph as an iterable collection */
+  public Iterable<Edge<E>> edges() { return new ArrayIterable<>(edgeOf, 0, edgeOf.length); }
+
+  /** Returns the number of edges leaving vertex v. */
+  public int outDegree(Vertex<V> v) throws IllegalArgumentException {
+    int u = vertexId(v);
+    return offsets[u + 1] - offsets[u];
+  }
+
+  /** Returns the number of edges for which vertex v is the destination. */
+  public int inDegree(Vertex<V> v) throws IllegalArgumentException {
+    int u = vertexId(v);
+    return inOffsets[u + 1] - inOffsets[u];
+  }
+
+  /** Returns an iterable collection of edges for which vertex v is the origin. */
+  public Iterable<Edge<E>> outgoingEdges(Vertex<V> v) throws IllegalArgumentException {
+    int u = vertexId(v);
+    return new ArrayIterable<>(arcEdges, offsets[u], offsets[u + 1]);
+  }
+
+  /** Returns an iterable collection of edges for which vertex v is the destination. */
+  public Iterable<Edge<E>> incomingEdges(Vertex<V> v) throws IllegalArgumentException {
+    int u = vertexId(v);
+    return new ArrayIterable<>(inArcEdges, inOffsets[u], inOffsets[u + 1]);
+  }
+
+  /** Returns the edge from u to v, or null if they are not adjacent. */
+  public Edge<E> getEdge(Vertex<V> u, Vertex<V> v) throws IllegalArgumentException {
+    int a = vertexId(u);
+    int b = vertexId(v);
+    for (int k = offsets[a]; k < offsets[a + 1]; k++)
+      if (targets[k] == b)
+        return arcEdges[k];
+    return null;
+  }
+
+  /** Returns the vertices of edge e as an array of length two. */
+  @SuppressWarnings({"unchecked"})
+  public Vertex<V>[] endVertices(Edge<E> e) throws IllegalArgumentException {
+    int id = edgeId(e);
+    return (Vertex<V>[]) new Vertex[]{vertexOf[edgeSource[id]], vertexOf[edgeTarget[id]]};
+  }
+
+  /** Returns the vertex that is opposite vertex v on edge e. */
+  public Vertex<V> opposite(Vertex<V> v, Edge<E> e) throws IllegalArgumentException {
+    int id = edgeId(e);
+    if (vertexOf[edgeSource[id]] == v)
+      return vertexOf[edgeTarget[id]];
+    else if (vertexOf[edgeTarget[id]] == v)
+      return vertexOf[edgeSource[id]];
+    else
+      throw new IllegalArgumentException("v is not incident to this edge");
+  }
+
+  /** Not supported: the snapshot is read-only. */
+  public Vertex<V> insertVertex(V element) {
+    throw new UnsupportedOperationException("CSRGraph is read-only");
+  }
+
+  /** Not supported: the snapshot is read-only. */
+  public Edge<E> insertEdge(Vertex<V> u, Vertex<V> v, E element) {
+    throw new UnsupportedOperationException("CSRGraph is read-only");
+  }
+
+  /** Not supported: the snapshot is read-only. */
+  public void removeVertex(Vertex<V> v) {
+    throw new UnsupportedOperationException("CSRGraph is read-only");
+  }
+
+  /** Not supported: the snapshot is read-only. */
+  public void removeEdge(Edge<E> e) {
+    throw new UnsupportedOperationException("CSRGraph is read-only");
+  }
+
+  //---------------- nested ArrayIterable class ----------------
+  /** Iterable view of a slice of an array (no copying). */
+  private static class ArrayIterable<T> implements Iterable<T> {
+    private final T[] data;
+    private final int from, to;
+
+    ArrayIterable(T[] data, int from, int to) {
+      this.data = data;
+      this.from = from;
+      this.to = to;
+    }
+
+    public Iterator<T> iterator() {
+      return new Iterator<T>() {
+        private int j = from;
+        public boolean hasNext() { return j < to; }
+        public T next() {
+          if (j >= to) throw new NoSuchElementException("No next element");
+          return data[j++];
+        }
+      };
+    }
+  } //----------- end of nested ArrayIterable class -----------
+}
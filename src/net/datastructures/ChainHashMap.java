@@ -22,7 +22,9 @@
  */
 package net.datastructures;
 
-import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /*
  * Map implementation using hash table with separate chaining.
@@ -102,18 +104,42 @@ public class ChainHashMap<K,V> extends AbstractHashMap<K,V> {
     return answer;
   }
 
+  //---------------- nested EntryIterator class ----------------
+  /** Walks the buckets directly, failing if the map is structurally modified meanwhile. */
+  private class EntryIterator implements Iterator<Entry<K,V>> {
+    private final UnsortedTableMap<K,V>[] buckets = table;   // the table being walked
+    private final int expected = modCount;
+    private int h = -1;                                       // index of the current bucket
+    private Iterator<Entry<K,V>> current = advance();
+    /** Returns an iterator over the next nonempty bucket, or null if there is none. */
+    private Iterator<Entry<K,V>> advance() {
+      while (++h < buckets.length)
+        if (buckets[h] != null && !buckets[h].isEmpty())
+          return buckets[h].entrySet().iterator();
+      return null;
+    }
+    public boolean hasNext() { return current != null; }
+    public Entry<K,V> next() {
+      if (modCount != expected) throw new ConcurrentModificationException();
+      if (current == null) throw new NoSuchElementException("No further entries");
+      Entry<K,V> answer = current.next();
+      if (!current.hasNext()) current = advance();
+      return answer;
+    }
+    public void remove() { throw new UnsupportedOperationException("remove not supported"); }
+  } //----------- end of nested EntryIterator class -----------
+
+  //---------------- nested EntryIterable class ----------------
+  private class EntryIterable implements Iterable<Entry<K,V>> {
+    public Iterator<Entry<K,V>> iterator() { return new EntryIterator(); }
+  } //----------- end of nested EntryIterable class -----------
+
   /**
    * Returns an iterable collection of all key-value entries of the map.
+   * It is a view of the buckets, so no entries are copied.
    *
    * @return iterable collection of the map's entries
    */
   @Override
-  public Iterable<Entry<K,V>> entrySet() {
-    ArrayList<Entry<K,V>> buffer = new ArrayList<>();
-    for (int h=0; h < capacity; h++)
-      if (table[h] != null)
-        for (Entry<K,V> entry : table[h].entrySet())
-          buffer.add(entry);
-    return buffer;
-  }
+  public Iterable<Entry<K,V>> entrySet() { return new EntryIterable(); }
 }
@@ -0,0 +1,66 @@
+package net.datastructures;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A union-find structure over the integers 0..n-1 that many threads can use at once.
+ *
+ * Leaders are stored in an atomic array. A find halves the path it walks with
+ * compare-and-set, which only ever moves a pointer closer to the leader, so concurrent
+ * finds never make a path longer. A union links the leader with the smaller index under
+ * the other one with a single compare-and-set, retrying if either leader changed
+ * meanwhile; since links always point towards larger indices no cycle can form.
+ */
+public class ConcurrentUnionFind {
+  private final AtomicIntegerArray leader;
+
+  /** Creates n singleton sets, one for each integer in 0..n-1. */
+  public ConcurrentUnionFind(int n) {
+    leader = new AtomicIntegerArray(n);
+    for (int v = 0; v < n; v++)
+      leader.set(v, v);
+  }
+
+  /** Returns the number of elements. */
+  public int size() { return leader.length(); }
+
+  /** Returns the leader of the set containing v. */
+  public int find(int v) {
+    while (true) {
+      int p = leader.get(v);
+      if (p == v) return v;
+      int g = leader.get(p);
+      if (p != g)
+        leader.compareAndSet(v, p, g);        // halve the path; losing the race is harmless
+      v = g;
+    }
+  }
+
+  /** Returns true if a and b are in the same set. */
+  public boolean connected(int a, int b) {
+    while (true) {
+      a = find(a);
+      b = find(b);
+      if (a == b) return true;
+      if (leader.get(a) == a) return false;   // a is still a leader, so the answer was current
+    }
+  }
+
+  /**
+   * Merges the sets containing a and b.
+   * @return true if they were different sets, i.e. if this call merged them
+   */
+  public boolean union(int a, int b) {
+    while (true) {
+      a = find(a);
+      b = find(b);
+      if (a == b) return false;
+      if (a > b) {                            // link the smaller leader under the larger one
+        int t = a;
+        a = b;
+        b = t;
+      }
+      if (leader.compareAndSet(a, a, b)) return true;
+    }
+  }
+}
@@ -0,0 +1,249 @@
+package net.datastructures;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A minimum spanning forest of an undirected weighted graph that is kept up to date
+ * while the graph changes.
+ *
+ * The caller modifies the graph and then reports what changed, and the forest is
+ * repaired locally instead of running Kruskal's algorithm again:
+ * <ul>
+ * <li>an edge that appears or gets lighter closes a cycle with the forest; if the
+ *     heaviest edge on that cycle is heavier than the new one, it is swapped out;</li>
+ * <li>a forest edge that disappears or gets heavier splits its tree in two; the
+ *     smaller part is explored and the lightest edge leaving it, if any, reconnects
+ *     the tree.</li>
+ * </ul>
+ * Every tree is also kept rooted through parent pointers, so the cycle closed by a new
+ * edge is found by climbing from both endpoints to their common ancestor, and linking
+ * two trees only reverses the parent pointers on the path from one endpoint to its root.
+ * An insertion therefore costs time proportional to the depth of the trees, a split
+ * costs time proportional to the smaller part and its incident edges, and the forest
+ * itself can be read in O(V). The edge's element is assumed to be its integral weight.
+ */
+public class DynamicMinimumSpanningForest<V> {
+  private final Graph<V,Integer> graph;
+  // forest.get(u).get(v) is the forest edge between u and v
+  private final Map<Vertex<V>,Map<Vertex<V>,Edge<Integer>>> forest = new ProbeHashMap<>();
+  private final PositionalList<Edge<Integer>> edges = new LinkedPositionalList<>();
+  private final Map<Edge<Integer>,Position<Edge<Integer>>> positions = new ProbeHashMap<>();
+  // parent.get(u) and up.get(u) are the parent of u and the edge joining them; absent for roots
+  private final Map<Vertex<V>,Vertex<V>> parent = new ProbeHashMap<>();
+  private final Map<Vertex<V>,Edge<Integer>> up = new ProbeHashMap<>();
+  private long totalWeight;
+
+  /**
+   * Builds the minimum spanning forest of graph g with Kruskal's algorithm.
+   * @param graph the undirected graph, which the caller will modify and report changes of
+   */
+  public DynamicMinimumSpanningForest(Graph<V,Integer> graph) {
+    this.graph = graph;
+    for (Vertex<V> v : graph.vertices())
+      forest.put(v, new ProbeHashMap<>(5));
+    for (Edge<Integer> e : GraphAlgorithms.MST(graph)) {
+      Vertex<V>[] ends = graph.endVertices(e);
+      link(ends[0], ends[1], e);
+    }
+  }
+
+  /** Returns the edges of the forest. Reading them takes O(V). */
+  public PositionalList<Edge<Integer>> edges() {
+    PositionalList<Edge<Integer>> copy = new LinkedPositionalList<>();
+    for (Edge<Integer> e : edges)
+      copy.addLast(e);
+    return copy;
+  }
+
+  /** Returns the number of edges of the forest. */
+  public int numEdges() { return edges.size(); }
+
+  /** Returns the total weight of the forest. */
+  public long getTotalWeight() { return totalWeight; }
+
+  /**
+   * Repairs the forest after the edge between u and v was inserted, removed or had
+   * its weight changed in the graph.
+   */
+  public void edgeUpdated(Vertex<V> u, Vertex<V> v) {
+    Edge<Integer> current = graph.getEdge(u, v);
+    Edge<Integer> old = forest.get(u).get(v);
+    if (old != null) {                         // a forest edge: cut it and find the best reconnection
+      cut(u, v, old);
+      reconnect(u, v);
+    } else if (current != null) {
+      insert(u, v, current);
+    }
+  }
+
+  /** Repairs the forest after vertex v was inserted into the graph together with its edges. */
+  public void vertexInserted(Vertex<V> v) {
+    forest.put(v, new ProbeHashMap<>(5));
+    for (Edge<Integer> e : graph.outgoingEdges(v)) {
+      Vertex<V> w = graph.opposite(v, e);
+      if (forest.get(v).get(w) == null)
+        insert(v, w, e);
+    }
+  }
+
+  /**
+   * Repairs the forest after vertex v was removed from the graph together with its edges.
+   * Each tree that contained v splits into one part per forest neighbor of v; every part
+   * is then extended with the lightest edge leaving it until no edge leaves it.
+   */
+  public void vertexRemoved(Vertex<V> v) {
+    Map<Vertex<V>,Edge<Integer>> around = forest.get(v);
+    if (around == null) return;
+    PositionalList<Vertex<V>> neighbors = new LinkedPositionalList<>();
+    for (Vertex<V> w : around.keySet())
+      neighbors.addLast(w);
+    for (Vertex<V> w : neighbors)
+      cut(v, w, around.get(w));
+    forest.remove(v);
+    for (Vertex<V> w : neighbors) {
+      while (true) {
+        PositionalList<Vertex<V>> part = new TreeSearch(w).explore();
+        Edge<Integer> e = lightestLeaving(part);
+        if (e == null) break;
+        Vertex<V>[] ends = graph.endVertices(e);
+        link(ends[0], ends[1], e);
+      }
+    }
+  }
+
+  /** Adds edge e between u and v, swapping out the heaviest edge of the cycle it closes if heavier. */
+  private void insert(Vertex<V> u, Vertex<V> v, Edge<Integer> e) {
+    if (u == v) return;                        // a self-loop never belongs to the forest
+    Set<Vertex<V>> ancestors = new HashSet<>();
+    for (Vertex<V> w = u; w != null; w = parent.get(w))
+      ancestors.add(w);
+    Vertex<V> meet = v;                        // climb from v until the path of u is met
+    while (meet != null && !ancestors.contains(meet))
+      meet = parent.get(meet);
+    if (meet == null) {                        // different trees: e joins them
+      link(u, v, e);
+      return;
+    }
+    Vertex<V> heaviest = heaviestBelow(v, meet, heaviestBelow(u, meet, null));
+    if (up.get(heaviest).getElement() > e.getElement()) {
+      cut(heaviest, parent.get(heaviest), up.get(heaviest));
+      link(u, v, e);
+    }
+  }
+
+  /**
+   * Returns the child end of the heaviest forest edge on the path climbing from w to its
+   * ancestor top, or best if that edge is not heavier than the one above best.
+   */
+  private Vertex<V> heaviestBelow(Vertex<V> w, Vertex<V> top, Vertex<V> best) {
+    for (; w != top; w = parent.get(w))
+      if (best == null || up.get(w).getElement() > up.get(best).getElement())
+        best = w;
+    return best;
+  }
+
+  /**
+   * After the forest edge between u and v was cut, explores the smaller of the two trees
+   * and joins them again with the lightest edge leaving it, if the graph has one.
+   */
+  private void reconnect(Vertex<V> u, Vertex<V> v) {
+    TreeSearch a = new TreeSearch(u), b = new TreeSearch(v);
+    PositionalList<Vertex<V>> smaller;
+    while (true) {                             // advance both searches until one tree is exhausted
+      if (!a.step()) { smaller = a.order; break; }
+      if (!b.step()) { smaller = b.order; break; }
+    }
+    Edge<Integer> e = lightestLeaving(smaller);
+    if (e != null) {
+      Vertex<V>[] ends = graph.endVertices(e);
+      link(ends[0], ends[1], e);
+    }
+  }
+
+  /** Returns the lightest graph edge with exactly one endpoint in the given tree, or null if none. */
+  private Edge<Integer> lightestLeaving(PositionalList<Vertex<V>> tree) {
+    Set<Vertex<V>> inside = new HashSet<>();
+    for (Vertex<V> x : tree)
+      inside.add(x);
+    Edge<Integer> best = null;
+    for (Vertex<V> x : tree)
+      for (Edge<Integer> e : graph.outgoingEdges(x))
+        if (!inside.contains(graph.opposite(x, e)) && (best == null || e.getElement() < best.getElement()))
+          best = e;
+    return best;
+  }
+
+  /** Adds forest edge e between u and v, rerooting the tree of u at u and hanging it from v. */
+  private void link(Vertex<V> u, Vertex<V> v, Edge<Integer> e) {
+    Vertex<V> child = null;                    // reverse the parent pointers from u to its root
+    Edge<Integer> edge = null;
+    for (Vertex<V> w = u; w != null; ) {
+      Vertex<V> next = parent.get(w);
+      Edge<Integer> nextEdge = up.get(w);
+      setParent(w, child, edge);
+      child = w;
+      edge = nextEdge;
+      w = next;
+    }
+    setParent(u, v, e);
+    forest.get(u).put(v, e);
+    forest.get(v).put(u, e);
+    positions.put(e, edges.addLast(e));
+    totalWeight += e.getElement();
+  }
+
+  /** Removes forest edge e between u and v; the lower endpoint becomes the root of its tree. */
+  private void cut(Vertex<V> u, Vertex<V> v, Edge<Integer> e) {
+    if (parent.get(u) == v)
+      setParent(u, null, null);
+    else
+      setParent(v, null, null);
+    forest.get(u).remove(v);
+    Map<Vertex<V>,Edge<Integer>> back = forest.get(v);
+    if (back != null)
+      back.remove(u);
+    edges.remove(positions.remove(e));
+    totalWeight -= e.getElement();
+  }
+
+  /** Makes p the parent of w through edge e, or makes w a root if p is null. */
+  private void setParent(Vertex<V> w, Vertex<V> p, Edge<Integer> e) {
+    if (p == null) {
+      parent.remove(w);
+      up.remove(w);
+    } else {
+      parent.put(w, p);
+      up.put(w, e);
+    }
+  }
+
+  //---------------- nested TreeSearch class ----------------
+  /** Breadth-first search of one tree of the forest that can be advanced one vertex at a time. */
+  private class TreeSearch {
+    private final PositionalList<Vertex<V>> order = new LinkedPositionalList<>();   // reached vertices
+    private final Set<Vertex<V>> known = new HashSet<>();
+    private Position<Vertex<V>> cursor;        // next vertex to expand
+
+    TreeSearch(Vertex<V> root) {
+      known.add(root);
+      cursor = order.addLast(root);
+    }
+
+    /** Expands one vertex; returns false if the whole tree has already been explored. */
+    boolean step() {
+      if (cursor == null) return false;
+      for (Vertex<V> y : forest.get(cursor.getElement()).keySet())
+        if (known.add(y))
+          order.addLast(y);
+      cursor = order.after(cursor);
+      return true;
+    }
+
+    /** Explores the rest of the tree and returns all its vertices. */
+    PositionalList<Vertex<V>> explore() {
+      while (step());
+      return order;
+    }
+  } //----------- end of nested TreeSearch class -----------
+}
@@ -0,0 +1,280 @@
+package net.datastructures;
+
+import java.util.Arrays;
+
+/**
+ * A single-source shortest-path tree that is kept up to date while the graph changes.
+ *
+ * The caller modifies the graph and then reports what changed. Instead of running
+ * Dijkstra's algorithm again from the source, the tree is repaired in the style of
+ * Ramalingam and Reps: when an edge of the tree gets longer or disappears, only the
+ * subtree hanging from it loses its distances; each of those vertices is seeded with
+ * the best distance offered by its neighbors outside the subtree, and a Dijkstra pass
+ * restricted to improvements settles them again. When an edge gets shorter or appears,
+ * the same pass starts from its endpoint and stops wherever distances do not improve.
+ * The work is therefore proportional to the vertices whose distance changes and
+ * the edges incident to them.
+ *
+ * Each vertex keeps its parent and the list of its children, so a subtree is
+ * enumerated without scanning the graph. The edge's element is assumed to be its
+ * non-negative integral weight.
+ *
+ * Vertices are numbered with dense ids of the tree's own as they are reached, and
+ * distances, parents and the child lists (linked through sibling arrays) live in
+ * int arrays indexed by them, with an IndexedIntHeap as the queue. The graph's own
+ * ids cannot be used because graphs such as AdjacencyMapGraph renumber vertices on
+ * removal. The ids of removed vertices are reused, so the arrays never outgrow the
+ * largest graph seen, and a repair allocates nothing beyond them.
+ */
+public class DynamicShortestPathTree<V> {
+  private static final int UNREACHED = -1;    // distance of unreachable vertices
+  private final Graph<V,Integer> graph;
+  private final Vertex<V> source;
+  private final ObjIntMap<Vertex<V>> ids = new ObjIntMap<>();
+  private final IntArrayList freeIds = new IntArrayList();
+  private final IntArrayList subtree = new IntArrayList();
+  private Vertex<V>[] vertexOf;
+  private int[] dist;                  // distance by id, or UNREACHED
+  private int[] parent;                // parent id, or -1
+  private int[] firstChild;            // first child id, or -1
+  private int[] nextSibling;           // next child of the same parent, or -1
+  private int[] prevSibling;           // previous child of the same parent, or -1
+  private int[] mark;                  // stamp of the last reseed that discarded the vertex
+  private int stamp = 0;
+  private int count = 0;               // ids handed out so far
+  private IndexedIntHeap heap;
+  private int lastAffected;            // vertices settled by the last update
+
+  /**
+   * Builds the tree rooted at src with a full run of Dijkstra's algorithm.
+   * @param graph the graph, which the caller will modify and report changes of
+   * @param src   the source vertex
+   */
+  public DynamicShortestPathTree(Graph<V,Integer> graph, Vertex<V> src) {
+    this.graph = graph;
+    this.source = src;
+    ensureCapacity();
+    int s = idOf(src);
+    dist[s] = 0;
+    heap.insert(s, 0);
+    propagate();
+  }
+
+  /** Returns the source vertex of the tree. */
+  public Vertex<V> getSource() { return source; }
+
+  /** Returns true if v is reachable from the source. */
+  public boolean isReachable(Vertex<V> v) { return reached(ids.get(v, -1)); }
+
+  /** Returns the distance from the source to v, or null if v is unreachable. */
+  public Integer distance(Vertex<V> v) {
+    int id = ids.get(v, -1);
+    return reached(id) ? dist[id] : null;
+  }
+
+  /** Returns the parent of v in the tree, or null for the source and unreachable vertices. */
+  public Vertex<V> parent(Vertex<V> v) {
+    int id = ids.get(v, -1);
+    return id >= 0 && parent[id] >= 0 ? vertexOf[parent[id]] : null;
+  }
+
+  /** Returns the number of vertices whose distance was settled by the last update. */
+  public int getLastAffected() { return lastAffected; }
+
+  /**
+   * Returns the list of vertices along the shortest path from the source to v.
+   * @throws IllegalArgumentException if v is not reachable from the source
+   */
+  public PositionalList<Vertex<V>> pathTo(Vertex<V> v) throws IllegalArgumentException {
+    if (!isReachable(v))
+      throw new IllegalArgumentException("No hay camino desde " + source.getElement() + " a " + v.getElement());
+    PositionalList<Vertex<V>> path = new LinkedPositionalList<>();
+    for (int walk = ids.get(v, -1); walk >= 0; walk = parent[walk])
+      path.addFirst(vertexOf[walk]);         // construct the path from back to front
+    return path;
+  }
+
+  /**
+   * Repairs the tree after the edge between u and v was inserted, removed or had its
+   * weight changed. Both directions are examined, so it serves directed and undirected graphs.
+   */
+  public void edgeUpdated(Vertex<V> u, Vertex<V> v) {
+    lastAffected = 0;
+    ensureCapacity();
+    int a = ids.get(u, -1), b = ids.get(v, -1);
+    if (a >= 0 && b >= 0) {
+      if (parent[b] == a)
+        reseed(b, -1);                       // tree edge u -> v may be longer or gone
+      else if (parent[a] == b)
+        reseed(a, -1);                       // tree edge v -> u may be longer or gone
+    }
+    relax(u, v);                             // the edge may now offer a shorter path
+    relax(v, u);
+    propagate();
+  }
+
+  /** Repairs the tree after vertex v was inserted into the graph together with its edges. */
+  public void vertexInserted(Vertex<V> v) {
+    lastAffected = 0;
+    ensureCapacity();
+    seed(idOf(v), false);
+    propagate();
+  }
+
+  /**
+   * Repairs the tree after vertex v was removed from the graph together with its edges.
+   * @throws IllegalArgumentException if v is the source
+   */
+  public void vertexRemoved(Vertex<V> v) throws IllegalArgumentException {
+    if (v == source)
+      throw new IllegalArgumentException("The source cannot be removed");
+    lastAffected = 0;
+    ensureCapacity();
+    int id = ids.get(v, -1);
+    if (id < 0) return;                      // never reached, nothing to repair
+    if (reached(id))
+      reseed(id, id);
+    propagate();
+    ids.remove(v);                           // the id is free for another vertex
+    vertexOf[id] = null;
+    freeIds.add(id);
+  }
+
+  /**
+   * Discards the distances of the subtree rooted at root, then seeds every vertex of
+   * the subtree other than removed with the best distance through its neighbors outside it.
+   */
+  private void reseed(int root, int removed) {
+    subtree.clear();
+    subtree.add(root);
+    for (int i = 0; i < subtree.size(); i++)
+      for (int c = firstChild[subtree.get(i)]; c >= 0; c = nextSibling[c])
+        subtree.add(c);
+    detach(root);                            // the rest of the subtree goes with it
+    stamp++;
+    for (int i = 0; i < subtree.size(); i++) {
+      int x = subtree.get(i);
+      mark[x] = stamp;
+      dist[x] = UNREACHED;
+      parent[x] = -1;
+      firstChild[x] = -1;
+    }
+    for (int i = 0; i < subtree.size(); i++)
+      if (subtree.get(i) != removed)
+        seed(subtree.get(i), true);
+  }
+
+  /**
+   * Gives x the best distance offered by its reachable in-neighbors, skipping those
+   * discarded by the current reseed if requested, and queues it if it has one.
+   */
+  private void seed(int x, boolean excludeDiscarded) {
+    long best = Long.MAX_VALUE;
+    int via = -1;
+    Vertex<V> vx = vertexOf[x];
+    for (Edge<Integer> e : graph.incomingEdges(vx)) {
+      int y = ids.get(graph.opposite(vx, e), -1);
+      if (reached(y) && !(excludeDiscarded && mark[y] == stamp) && (long) dist[y] + e.getElement() < best) {
+        best = (long) dist[y] + e.getElement();
+        via = y;
+      }
+    }
+    if (via >= 0 && best <= Integer.MAX_VALUE)
+      improve(x, via, (int) best);
+  }
+
+  /** Queues v if the current edge from u to v gives it a shorter distance. */
+  private void relax(Vertex<V> u, Vertex<V> v) {
+    int a = ids.get(u, -1);
+    Edge<Integer> e = graph.getEdge(u, v);
+    if (!reached(a) || e == null) return;
+    long alt = (long) dist[a] + e.getElement();
+    int b = idOf(v);
+    if (alt <= Integer.MAX_VALUE && (dist[b] == UNREACHED || alt < dist[b]))
+      improve(b, a, (int) alt);
+  }
+
+  /**
+   * Runs Dijkstra's algorithm from the queued vertices, following an edge only when it
+   * improves the distance of its other endpoint.
+   */
+  private void propagate() {
+    while (!heap.isEmpty()) {
+      int u = heap.removeMin();
+      lastAffected++;
+      Vertex<V> vu = vertexOf[u];
+      for (Edge<Integer> e : graph.outgoingEdges(vu)) {
+        int v = idOf(graph.opposite(vu, e));
+        long alt = (long) dist[u] + e.getElement();
+        if (alt <= Integer.MAX_VALUE && (dist[v] == UNREACHED || alt < dist[v]))   // better path to v?
+          improve(v, u, (int) alt);
+      }
+    }
+  }
+
+  /** Gives v distance d through parent p, and queues it (or lowers its key). */
+  private void improve(int v, int p, int d) {
+    dist[v] = d;
+    detach(v);
+    parent[v] = p;
+    prevSibling[v] = -1;                     // v becomes the first child of p
+    nextSibling[v] = firstChild[p];
+    if (firstChild[p] >= 0)
+      prevSibling[firstChild[p]] = v;
+    firstChild[p] = v;
+    heap.insertOrDecrease(v, d);
+  }
+
+  /** Removes v from the child list of its parent, if it has one. */
+  private void detach(int v) {
+    int p = parent[v];
+    if (p < 0) return;
+    if (prevSibling[v] >= 0)
+      nextSibling[prevSibling[v]] = nextSibling[v];
+    else
+      firstChild[p] = nextSibling[v];
+    if (nextSibling[v] >= 0)
+      prevSibling[nextSibling[v]] = prevSibling[v];
+    parent[v] = -1;
+  }
+
+  /** Tests whether id belongs to a vertex with a distance. */
+  private boolean reached(int id) { return id >= 0 && dist[id] != UNREACHED; }
+
+  /** Returns the id of v, numbering it (as unreached) if it has none. */
+  private int idOf(Vertex<V> v) {
+    int id = ids.get(v, -1);
+    if (id >= 0) return id;
+    id = freeIds.isEmpty() ? count++ : freeIds.removeLast();
+    ids.put(v, id);
+    vertexOf[id] = v;
+    dist[id] = UNREACHED;
+    parent[id] = -1;
+    firstChild[id] = -1;
+    return id;
+  }
+
+  /**
+   * Grows the arrays and the heap so that every vertex of the graph, plus one just
+   * removed from it, can hold an id. Called before each update, while the heap is
+   * empty; since ids are reused, the number of ids in use never exceeds that bound.
+   */
+  @SuppressWarnings({"unchecked"})
+  private void ensureCapacity() {
+    int needed = graph.numVertices() + 1;
+    if (dist != null && dist.length >= needed) return;
+    int length = Math.max(needed, dist == null ? 16 : 2 * dist.length);
+    vertexOf = vertexOf == null ? (Vertex<V>[]) new Vertex[length] : Arrays.copyOf(vertexOf, length);
+    dist = grow(dist, length);
+    parent = grow(parent, length);
+    firstChild = grow(firstChild, length);
+    nextSibling = grow(nextSibling, length);
+    prevSibling = grow(prevSibling, length);
+    mark = grow(mark, length);
+    heap = new IndexedIntHeap(length);
+  }
+
+  private static int[] grow(int[] a, int length) {
+    return a == null ? new int[length] : Arrays.copyOf(a, length);
+  }
+}
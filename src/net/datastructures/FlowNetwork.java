@@ -0,0 +1,505 @@
+package net.datastructures;
+
+import java.util.Arrays;
+
+/**
+ * A residual network for maximum-flow computations, stored in flat arrays.
+ *
+ * Every edge of the graph becomes a pair of opposite arcs with ids 2e and 2e+1, so the
+ * reverse of arc k is always arc k^1. For a directed edge (u,v) of capacity c, arc 2e goes
+ * from u to v with capacity c and arc 2e+1 is its residual with capacity 0. For an
+ * undirected edge both arcs get capacity c, so flow can travel in either direction and
+ * pushing flow one way frees capacity the other way. The arcs leaving each node are
+ * grouped together as in a CSR layout.
+ *
+ * Two engines are offered: Dinic's algorithm, which saturates blocking flows in
+ * BFS level graphs, and highest-label push-relabel with the gap heuristic and
+ * periodic global relabeling. Both start from zero flow; the residual capacities of
+ * the last run remain available afterwards.
+ *
+ * Capacities can be changed in place with setCapacity, and warmMaxFlow then repairs
+ * the last maximum flow computed for the same (source, sink) pair instead of starting
+ * from zero. The flows of the most recently used pairs are kept, one value per edge, so
+ * they remain meaningful under any capacity change: where a flow now exceeds its
+ * capacity the excess is first rerouted around the edge and, if that is not enough,
+ * cancelled back towards the source and the sink, after which Dinic's phases only
+ * have to add the new augmenting paths.
+ */
+public class FlowNetwork<V> {
+
+  /** The available maximum-flow engines. */
+  public enum Algorithm { DINIC, PUSH_RELABEL }
+
+  private final CSRGraph<V,Integer> graph;
+  private final int n;
+  private final int[] start;       // arcs leaving u are arcAt[start[u]] .. arcAt[start[u+1]-1]
+  private final int[] arcAt;
+  private final int[] head;        // head[k] is the node reached by arc k
+  private final long[] capacity;   // capacity of each arc
+  private final long[] residual;   // residual capacity of each arc
+
+  // scratch arrays shared by the engines
+  private final int[] level;       // BFS level (Dinic) or height (push-relabel)
+  private final int[] current;     // current-arc pointer of each node
+  private final int[] queue;
+  private int[] via;               // arc that reached each node in a repair search
+
+  /** Number of (source, sink) pairs whose flows are kept for warm starts, by default. */
+  public static final int DEFAULT_WARM_PAIRS = 16;
+  private final LRUCache<Long,long[]> warmFlows = new LRUCache<>(DEFAULT_WARM_PAIRS);
+
+  /**
+   * Builds the residual network of g, whose edge elements are capacities.
+   * @param g snapshot of the graph; directed or undirected edges are honored as explained above
+   * @throws IllegalArgumentException if some capacity is negative
+   */
+  public FlowNetwork(CSRGraph<V,Integer> g) {
+    graph = g;
+    n = g.numVertices();
+    int m = g.numEdges();
+    head = new int[2 * m];
+    capacity = new long[2 * m];
+    residual = new long[2 * m];
+    start = new int[n + 1];
+    for (int e = 0; e < m; e++) {
+      int a = g.edgeSource(e), b = g.edgeTarget(e), c = g.edgeWeight(e);
+      if (c < 0) throw new IllegalArgumentException("Capacities cannot be negative");
+      head[2 * e] = b;
+      head[2 * e + 1] = a;
+      capacity[2 * e] = c;
+      capacity[2 * e + 1] = g.isDirected() ? 0 : c;
+      start[a + 1]++;
+      start[b + 1]++;
+    }
+    for (int u = 0; u < n; u++)
+      start[u + 1] += start[u];
+    arcAt = new int[2 * m];
+    int[] next = Arrays.copyOf(start, n);
+    for (int k = 0; k < 2 * m; k++)
+      arcAt[next[head[k ^ 1]]++] = k;        // the tail of arc k is the head of its reverse
+    level = new int[n];
+    current = new int[n];
+    queue = new int[n];
+  }
+
+  /** Returns the graph this network was built from. */
+  public CSRGraph<V,Integer> getGraph() { return graph; }
+
+  /** Returns the id of an edge joining nodes u and v in either direction, or -1 if there is none. */
+  public int edgeBetween(int u, int v) {
+    for (int j = start[u]; j < start[u + 1]; j++)
+      if (head[arcAt[j]] == v)
+        return arcAt[j] >> 1;
+    return -1;
+  }
+
+  /**
+   * Changes the capacity of the edge with the given id. The residual capacities of the
+   * last run are not updated; the kept flows are repaired by the next warmMaxFlow.
+   * @throws IllegalArgumentException if c is negative
+   */
+  public void setCapacity(int edge, long c) {
+    if (c < 0) throw new IllegalArgumentException("Capacities cannot be negative");
+    capacity[2 * edge] = c;
+    capacity[2 * edge + 1] = graph.isDirected() ? 0 : c;
+  }
+
+  /** Returns the current capacity of the edge with the given id. */
+  public long capacity(int edge) { return capacity[2 * edge]; }
+
+  /**
+   * Changes how many (source, sink) pairs keep their flow for warm starts, discarding
+   * the least recently used ones if needed. Zero disables warm starts.
+   */
+  public void setWarmStartPairs(int pairs) { warmFlows.setCapacity(pairs); }
+
+  /** Returns the flow currently sent along the edge with the given id, from its source to its target. */
+  public long flow(int edge) {
+    return capacity[2 * edge] - residual[2 * edge];
+  }
+
+  /**
+   * Computes a maximum flow from node s to node t with the given engine.
+   * @throws IllegalArgumentException if s equals t
+   */
+  public long maxFlow(int s, int t, Algorithm algorithm) {
+    return (algorithm == Algorithm.PUSH_RELABEL) ? pushRelabel(s, t) : dinic(s, t);
+  }
+
+  /**
+   * Computes a maximum flow from node s to node t and reads a minimum cut off the final
+   * residual network, as described in sourceSide.
+   * @throws IllegalArgumentException if s equals t
+   */
+  public MinCutResult<V> minCut(int s, int t, Algorithm algorithm) {
+    return cut(maxFlow(s, t, algorithm), t);
+  }
+
+  /**
+   * Computes a maximum flow from node s to node t with warmMaxFlow and reads a minimum
+   * cut off the final residual network.
+   * @throws IllegalArgumentException if s equals t
+   */
+  public MinCutResult<V> warmMinCut(int s, int t) {
+    return cut(warmMaxFlow(s, t), t);
+  }
+
+  /** Builds the minimum cut towards t of the current residual network, for a flow of the given value. */
+  private MinCutResult<V> cut(long value, int t) {
+    boolean[] side = sourceSide(t);
+    PositionalList<Vertex<V>> sourceSide = new LinkedPositionalList<>();
+    for (int u = 0; u < n; u++)
+      if (side[u])
+        sourceSide.addLast(graph.vertexAt(u));
+    PositionalList<Edge<Integer>> cut = new LinkedPositionalList<>();
+    for (int e = 0; e < graph.numEdges(); e++) {
+      boolean a = side[graph.edgeSource(e)], b = side[graph.edgeTarget(e)];
+      if ((a && !b) || (!a && b && !graph.isDirected()))
+        cut.addLast(graph.edgeAt(e));
+    }
+    return new MinCutResult<>(value, sourceSide, cut);
+  }
+
+  /**
+   * Returns the source side of a minimum cut, read off the residual network left by the
+   * last computation towards sink t. The sink side holds the nodes that can still reach t
+   * through arcs with residual capacity; every other node is on the source side. This is
+   * valid for both engines, including the preflow left by push-relabel.
+   * @return array such that element u is true if node u is on the source side
+   */
+  public boolean[] sourceSide(int t) {
+    boolean[] sinkSide = new boolean[n];
+    int headIdx = 0, tail = 0;
+    sinkSide[t] = true;
+    queue[tail++] = t;
+    while (headIdx < tail) {                    // search backward from t along residual arcs
+      int v = queue[headIdx++];
+      for (int j = start[v]; j < start[v + 1]; j++) {
+        int k = arcAt[j];
+        int u = head[k];
+        if (!sinkSide[u] && residual[k ^ 1] > 0) {   // arc k^1 goes from u to v
+          sinkSide[u] = true;
+          queue[tail++] = u;
+        }
+      }
+    }
+    for (int u = 0; u < n; u++)
+      sinkSide[u] = !sinkSide[u];
+    return sinkSide;
+  }
+
+  //---------------- warm starts ----------------
+  /**
+   * Computes a maximum flow from node s to node t, starting from the flow kept from the
+   * last call for the same pair if there is one. That flow is first made feasible for
+   * the current capacities: the excess on every overloaded edge is rerouted between its
+   * endpoints where possible, and the rest is cancelled by returning the surplus towards
+   * s and drawing the deficit back from t. Dinic's phases then augment it to a maximum
+   * flow, which is kept for the next call. An unchanged network needs a single BFS.
+   * @throws IllegalArgumentException if s equals t
+   */
+  public long warmMaxFlow(int s, int t) {
+    if (s == t) throw new IllegalArgumentException("Source and sink must be different");
+    Long key = (long) s * n + t;
+    long[] kept = warmFlows.get(key);
+    if (kept == null) {
+      reset(s, t);
+    } else {
+      int m = kept.length;
+      for (int e = 0; e < m; e++) {
+        residual[2 * e] = capacity[2 * e] - kept[e];
+        residual[2 * e + 1] = capacity[2 * e + 1] + kept[e];
+      }
+      for (int k = 0; k < 2 * m; k++)
+        if (residual[k] < 0)
+          repair(k, s, t);
+    }
+    augment(s, t);
+    int m = graph.numEdges();
+    if (kept == null) kept = new long[m];
+    for (int e = 0; e < m; e++)
+      kept[e] = capacity[2 * e] - residual[2 * e];
+    warmFlows.put(key, kept);
+    long value = 0;                             // net flow leaving s
+    for (int j = start[s]; j < start[s + 1]; j++) {
+      int k = arcAt[j];
+      value += capacity[k] - residual[k];
+    }
+    return value;
+  }
+
+  /**
+   * Removes the excess flow on arc k, whose residual capacity became negative, and
+   * restores conservation at its endpoints.
+   */
+  private void repair(int k, int s, int t) {
+    long excess = -residual[k];
+    residual[k] = 0;                            // send less along k ...
+    residual[k ^ 1] -= excess;                  // ... which frees its reverse arc accordingly
+    int u = head[k ^ 1], v = head[k];           // u now has a surplus and v a deficit
+    long left = excess - pushBetween(u, v, excess);
+    if (left == 0) return;
+    if (u != s && u != t) {                     // return the surplus of u
+      long back = pushBetween(u, s, left);
+      pushBetween(u, t, left - back);
+    }
+    if (v != s && v != t) {                     // cover the deficit of v
+      long back = pushBetween(t, v, left);
+      pushBetween(s, v, left - back);
+    }
+  }
+
+  /** Pushes up to amount units of flow from a to b along residual shortest paths; returns what was pushed. */
+  private long pushBetween(int a, int b, long amount) {
+    if (via == null) via = new int[n];
+    long pushed = 0;
+    while (pushed < amount) {
+      Arrays.fill(level, -1);
+      int headIdx = 0, tail = 0;
+      level[a] = 0;
+      queue[tail++] = a;
+      while (headIdx < tail && level[b] < 0) {
+        int u = queue[headIdx++];
+        for (int j = start[u]; j < start[u + 1]; j++) {
+          int k = arcAt[j];
+          int w = head[k];
+          if (residual[k] > 0 && level[w] < 0) {
+            level[w] = level[u] + 1;
+            via[w] = k;
+            queue[tail++] = w;
+          }
+        }
+      }
+      if (level[b] < 0) break;
+      long f = amount - pushed;
+      for (int w = b; w != a; w = head[via[w] ^ 1])
+        f = Math.min(f, residual[via[w]]);
+      for (int w = b; w != a; w = head[via[w] ^ 1]) {
+        residual[via[w]] -= f;
+        residual[via[w] ^ 1] += f;
+      }
+      pushed += f;
+    }
+    return pushed;
+  }
+
+  //---------------- Dinic ----------------
+  /**
+   * Computes a maximum flow from node s to node t with Dinic's algorithm.
+   * @throws IllegalArgumentException if s equals t
+   */
+  public long dinic(int s, int t) {
+    reset(s, t);
+    return augment(s, t);
+  }
+
+  /** Runs Dinic's phases on the current residual network; returns the flow added from s to t. */
+  private long augment(int s, int t) {
+    int[] path = new int[n];                    // arcs of the current augmenting path
+    long total = 0;
+    while (buildLevels(s, t)) {
+      for (int u = 0; u < n; u++)
+        current[u] = start[u];
+      int top = 0;
+      int u = s;
+      while (true) {
+        if (u == t) {                           // augment along the path and retreat
+          long f = Long.MAX_VALUE;
+          for (int i = 0; i < top; i++)
+            f = Math.min(f, residual[path[i]]);
+          int firstSaturated = -1;
+          for (int i = 0; i < top; i++) {
+            residual[path[i]] -= f;
+            residual[path[i] ^ 1] += f;
+            if (residual[path[i]] == 0 && firstSaturated < 0)
+              firstSaturated = i;
+          }
+          total += f;
+          top = firstSaturated;
+          u = head[path[top] ^ 1];              // tail of the first saturated arc
+          continue;
+        }
+        boolean advanced = false;
+        for (; current[u] < start[u + 1]; current[u]++) {
+          int k = arcAt[current[u]];
+          int v = head[k];
+          if (residual[k] > 0 && level[v] == level[u] + 1) {
+            path[top++] = k;
+            u = v;
+            advanced = true;
+            break;
+          }
+        }
+        if (!advanced) {                        // dead end: retreat
+          if (u == s) break;
+          level[u] = -1;
+          u = head[path[--top] ^ 1];
+          current[u]++;
+        }
+      }
+    }
+    return total;
+  }
+
+  /** Labels nodes with their BFS distance from s in the residual graph; true if t is reached. */
+  private boolean buildLevels(int s, int t) {
+    Arrays.fill(level, -1);
+    int headIdx = 0, tail = 0;
+    level[s] = 0;
+    queue[tail++] = s;
+    while (headIdx < tail) {
+      int u = queue[headIdx++];
+      for (int j = start[u]; j < start[u + 1]; j++) {
+        int k = arcAt[j];
+        int v = head[k];
+        if (residual[k] > 0 && level[v] < 0) {
+          level[v] = level[u] + 1;
+          queue[tail++] = v;
+        }
+      }
+    }
+    return level[t] >= 0;
+  }
+
+  //---------------- highest-label push-relabel ----------------
+  private long[] excess;
+  private int[] bucketHead;        // active nodes of each height below n, as linked stacks
+  private int[] nextActive;
+  private int[] countAt;           // number of nodes of each height
+  private int highest;             // highest height that may have active nodes
+
+  /**
+   * Computes a maximum flow from node s to node t with the highest-label push-relabel
+   * algorithm. Only the first phase is run: the value is exact, while excess that
+   * cannot reach t is left at the nodes rather than returned to s.
+   * @throws IllegalArgumentException if s equals t
+   */
+  public long pushRelabel(int s, int t) {
+    reset(s, t);
+    int[] height = level;
+    excess = new long[n];
+    bucketHead = new int[n];
+    nextActive = new int[n];
+    countAt = new int[2 * n + 1];
+    for (int j = start[s]; j < start[s + 1]; j++) {   // saturate every arc leaving s
+      int k = arcAt[j];
+      long f = residual[k];
+      residual[k] = 0;
+      residual[k ^ 1] += f;
+      excess[head[k]] += f;
+    }
+    globalRelabel(s, t);
+    int relabels = 0;
+    while (highest >= 0) {
+      if (relabels >= n) {                      // heights drift from exact distances; refresh them
+        globalRelabel(s, t);
+        relabels = 0;
+        continue;
+      }
+      int u = bucketHead[highest];
+      if (u < 0) {
+        highest--;
+        continue;
+      }
+      bucketHead[highest] = nextActive[u];
+      if (height[u] >= n) continue;             // lifted by a gap: its excess cannot reach t
+      while (excess[u] > 0) {                   // discharge u
+        if (current[u] == start[u + 1]) {
+          relabel(u);
+          relabels++;
+          if (height[u] >= n) break;
+          current[u] = start[u];
+          continue;
+        }
+        int k = arcAt[current[u]];
+        int v = head[k];
+        if (residual[k] > 0 && height[u] == height[v] + 1) {
+          long f = Math.min(excess[u], residual[k]);
+          residual[k] -= f;
+          residual[k ^ 1] += f;
+          excess[u] -= f;
+          if (excess[v] == 0 && v != s && v != t)
+            activate(v);
+          excess[v] += f;
+        } else {
+          current[u]++;
+        }
+      }
+    }
+    long total = excess[t];
+    excess = null;
+    bucketHead = nextActive = countAt = null;
+    return total;
+  }
+
+  /** Raises u just above its lowest residual neighbor, applying the gap heuristic. */
+  private void relabel(int u) {
+    int[] height = level;
+    int old = height[u];
+    int lowest = 2 * n;
+    for (int j = start[u]; j < start[u + 1]; j++) {
+      int k = arcAt[j];
+      if (residual[k] > 0)
+        lowest = Math.min(lowest, height[head[k]] + 1);
+    }
+    countAt[old]--;
+    if (countAt[old] == 0 && old < n) {         // gap: nodes above old can no longer reach t
+      for (int w = 0; w < n; w++)
+        if (height[w] > old && height[w] < n) {
+          countAt[height[w]]--;
+          height[w] = n;
+          countAt[n]++;
+        }
+      height[u] = n;
+    } else {
+      height[u] = lowest;
+    }
+    countAt[height[u]]++;
+  }
+
+  /**
+   * Sets every height to the exact residual distance to t (n if t is unreachable),
+   * then rebuilds the buckets of active nodes.
+   */
+  private void globalRelabel(int s, int t) {
+    int[] height = level;
+    Arrays.fill(height, n);
+    height[t] = 0;
+    int headIdx = 0, tail = 0;
+    queue[tail++] = t;
+    while (headIdx < tail) {
+      int v = queue[headIdx++];
+      for (int j = start[v]; j < start[v + 1]; j++) {
+        int k = arcAt[j];
+        int u = head[k];
+        if (u != s && height[u] == n && residual[k ^ 1] > 0) {   // arc k^1 goes from u to v
+          height[u] = height[v] + 1;
+          queue[tail++] = u;
+        }
+      }
+    }
+    Arrays.fill(countAt, 0);
+    Arrays.fill(bucketHead, -1);
+    highest = -1;
+    for (int w = 0; w < n; w++) {
+      countAt[height[w]]++;
+      current[w] = start[w];
+      if (w != s && w != t && excess[w] > 0 && height[w] < n)
+        activate(w);
+    }
+  }
+
+  /** Adds u to the bucket of its height. */
+  private void activate(int u) {
+    int h = level[u];
+    nextActive[u] = bucketHead[h];
+    bucketHead[h] = u;
+    if (h > highest) highest = h;
+  }
+
+  /** Restores every residual capacity to the original one. */
+  private void reset(int s, int t) {
+    if (s == t) throw new IllegalArgumentException("Source and sink must be different");
+    System.arraycopy(capacity, 0, residual, 0, capacity.length);
+  }
+}
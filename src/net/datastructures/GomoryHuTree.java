@@ -0,0 +1,205 @@
+package net.datastructures;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A Gomory-Hu cut tree of an undirected capacitated graph.
+ *
+ * The tree has the same nodes as the graph, and the maximum flow between any two
+ * nodes equals the smallest weight on the tree path joining them. Removing the tree
+ * edge with that weight splits the nodes into the two sides of a minimum cut.
+ *
+ * The tree is built with Gusfield's algorithm, which needs n-1 maximum-flow
+ * computations on the original graph and no contractions. Step s computes a cut
+ * between s and its current parent, and a step can only change the parents of other
+ * nodes. The steps are therefore run speculatively in parallel, a window at a time,
+ * each with the parent it has when the window starts. They are committed in order
+ * for as long as the parent of the next step is still the one its flow was computed
+ * for. In networks where most cuts isolate a small part, such as a device behind a
+ * single link, almost every speculative flow is kept.
+ */
+public class GomoryHuTree<V> {
+  private final CSRGraph<V,Integer> graph;
+  private final int[] parent;      // parent[u] is the neighbor of u towards the root (node 0)
+  private final long[] weight;     // weight[u] is the weight of the tree edge (u, parent[u])
+  private final int[] depth;
+  private int flowComputations;
+
+  /**
+   * Builds the tree of undirected graph g, whose edge elements are capacities,
+   * running the maximum flows on the given pool.
+   * @throws IllegalArgumentException if g is directed
+   */
+  public GomoryHuTree(CSRGraph<V,Integer> g, ForkJoinPool pool, FlowNetwork.Algorithm algorithm) {
+    if (g.isDirected()) throw new IllegalArgumentException("Gomory-Hu trees need an undirected graph");
+    graph = g;
+    int n = g.numVertices();
+    parent = new int[n];
+    weight = new long[n];
+    depth = new int[n];
+    if (n == 0) return;
+
+    int workers = Math.max(1, Math.min(pool.getParallelism(), n - 1));
+    @SuppressWarnings({"unchecked"})
+    FlowNetwork<V>[] networks = (FlowNetwork<V>[]) new FlowNetwork<?>[workers];
+    for (int w = 0; w < workers; w++)
+      networks[w] = new FlowNetwork<>(g);
+    int window = 4 * workers;
+    int[] sink = new int[window];
+    long[] flow = new long[window];
+    boolean[][] side = new boolean[window][];
+
+    int s = 1;
+    while (s < n) {
+      int count = Math.min(window, n - s);
+      for (int j = 0; j < count; j++)
+        sink[j] = parent[s + j];               // speculate with the current parents
+      pool.invoke(new Speculation<>(networks, algorithm, s, count, sink, flow, side, 0, workers));
+      flowComputations += count;
+      for (int j = 0; j < count && parent[s] == sink[j]; j++, s++)
+        commit(s, flow[j], side[j]);
+    }
+    for (int u = 0; u < n; u++)
+      computeDepth(u);
+  }
+
+  /** Applies step s of Gusfield's algorithm, given the cut between s and t = parent[s]. */
+  private void commit(int s, long f, boolean[] sSide) {
+    int t = parent[s];
+    weight[s] = f;
+    for (int i = 0; i < parent.length; i++)
+      if (i != s && sSide[i] && parent[i] == t)
+        parent[i] = s;
+    if (sSide[parent[t]]) {                    // t's parent lies on s's side: swap s and t
+      parent[s] = parent[t];
+      parent[t] = s;
+      weight[s] = weight[t];
+      weight[t] = f;
+    }
+  }
+
+  /** Returns the depth of u, computing those of its ancestors if needed. */
+  private int computeDepth(int u) {
+    if (u == 0 || depth[u] > 0) return depth[u];
+    int d = 0;
+    int walk = u;
+    while (walk != 0 && depth[walk] == 0) {    // find the nearest ancestor with a known depth
+      walk = parent[walk];
+      d++;
+    }
+    int base = depth[walk] + d;
+    for (walk = u; walk != 0 && depth[walk] == 0; walk = parent[walk])
+      depth[walk] = base--;
+    return depth[u];
+  }
+
+  /** Returns the graph the tree was built from. */
+  public CSRGraph<V,Integer> getGraph() { return graph; }
+
+  /** Returns the number of maximum-flow computations run, including discarded speculative ones. */
+  public int getFlowComputations() { return flowComputations; }
+
+  /** Returns the parent of node u in the tree (the root, node 0, is its own parent). */
+  public int parent(int u) { return parent[u]; }
+
+  /** Returns the weight of the tree edge between u and its parent. */
+  public long weight(int u) { return weight[u]; }
+
+  /**
+   * Returns the node of the lightest tree edge on the path between u and v: the edge
+   * joins that node with its parent. Its weight is the maximum flow between u and v.
+   * @throws IllegalArgumentException if u equals v
+   */
+  public int minCutNode(int u, int v) {
+    if (u == v) throw new IllegalArgumentException("The nodes must be different");
+    int best = -1;
+    while (u != v) {                           // climb from the deeper node until they meet
+      int w;
+      if (depth[u] >= depth[v]) {
+        w = u;
+        u = parent[u];
+      } else {
+        w = v;
+        v = parent[v];
+      }
+      if (best < 0 || weight[w] < weight[best])
+        best = w;
+    }
+    return best;
+  }
+
+  /**
+   * Returns the value of a maximum flow between nodes u and v.
+   * @throws IllegalArgumentException if u equals v
+   */
+  public long maxFlow(int u, int v) {
+    return weight[minCutNode(u, v)];
+  }
+
+  /** Returns the value of a maximum flow between vertices a and b. */
+  public long maxFlow(Vertex<V> a, Vertex<V> b) {
+    return maxFlow(graph.vertexId(a), graph.vertexId(b));
+  }
+
+  /**
+   * Returns the side of the minimum cut between u and v that contains the node
+   * returned by minCutNode: the tree nodes hanging from it.
+   */
+  public PositionalList<Vertex<V>> cutSide(int u, int v) {
+    int top = minCutNode(u, v);
+    PositionalList<Vertex<V>> side = new LinkedPositionalList<>();
+    for (int w = 0; w < parent.length; w++) {
+      int walk = w;
+      while (depth[walk] > depth[top])
+        walk = parent[walk];
+      if (walk == top)
+        side.addLast(graph.vertexAt(w));
+    }
+    return side;
+  }
+
+  //---------------- nested Speculation class ----------------
+  /**
+   * Task computing the flows of one window of steps. The work is split statically among
+   * the networks, one per worker, so each network is used by a single thread.
+   */
+  private static class Speculation<V> extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final FlowNetwork<V>[] networks;
+    private final FlowNetwork.Algorithm algorithm;
+    private final int first, count;
+    private final int[] sink;
+    private final long[] flow;
+    private final boolean[][] side;
+    private final int from, to;              // range of workers handled by this task
+
+    Speculation(FlowNetwork<V>[] networks, FlowNetwork.Algorithm algorithm, int first, int count,
+                int[] sink, long[] flow, boolean[][] side, int from, int to) {
+      this.networks = networks;
+      this.algorithm = algorithm;
+      this.first = first;
+      this.count = count;
+      this.sink = sink;
+      this.flow = flow;
+      this.side = side;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from == 1) {
+        FlowNetwork<V> net = networks[from];
+        for (int j = from; j < count; j += networks.length) {
+          flow[j] = net.maxFlow(first + j, sink[j], algorithm);
+          side[j] = net.sourceSide(sink[j]);
+        }
+      } else {
+        int mid = (from + to) >>> 1;
+        invokeAll(new Speculation<>(networks, algorithm, first, count, sink, flow, side, from, mid),
+                  new Speculation<>(networks, algorithm, first, count, sink, flow, side, mid, to));
+      }
+    }
+  } //----------- end of nested Speculation class -----------
+}
@@ -22,8 +22,10 @@
  */
 package net.datastructures;
 
+import java.util.Arrays;
 import java.util.Set;
 import java.util.HashSet;
+import java.util.function.ToIntFunction;
 
 /**
  * A collection of graph algorithms.
@@ -85,7 +87,7 @@ public class GraphAlgorithms {
    */
   public static <V,E> Map<Vertex<V>,Edge<E>> DFSComplete(Graph<V,E> g) {
     Set<Vertex<V>> known = new HashSet<>();
-    Map<Vertex<V>,Edge<E>> forest = new ProbeHashMap<>();
+    Map<Vertex<V>,Edge<E>> forest = new RobinHoodHashMap<>();
     for (Vertex<V> u : g.vertices())
       if (!known.contains(u))
         DFS(g, u, known, forest);            // (re)start the DFS process at u
@@ -130,7 +132,7 @@ public class GraphAlgorithms {
    * (vertices that are roots of a BFS trees in the forest are not included in the map).
    */
   public static <V,E> Map<Vertex<V>,Edge<E>> BFSComplete(Graph<V,E> g) {
-    Map<Vertex<V>,Edge<E>> forest = new ProbeHashMap<>();
+    Map<Vertex<V>,Edge<E>> forest = new RobinHoodHashMap<>();
     Set<Vertex<V>> known = new HashSet<>();
     for (Vertex<V> u : g.vertices())
       if (!known.contains(u))
@@ -160,27 +162,33 @@ public class GraphAlgorithms {
   /**
    * Returns a list of verticies of directed acyclic graph g in topological order.
    * If graph g has a cycle, the result will be incomplete.
+   *
+   * Vertices get dense ids so the remaining in-degrees live in an int array and the
+   * vertices free of constraints in an int stack; nothing is boxed per edge.
    */
   public static <V,E> PositionalList<Vertex<V>> topologicalSort(Graph<V,E> g) {
     // list of vertices placed in topological order
     PositionalList<Vertex<V>> topo = new LinkedPositionalList<>();
-    // container of vertices that have no remaining constraints
-    Stack<Vertex<V>> ready = new LinkedStack<>();
-    // map keeping track of remaining in-degree for each vertex
-    Map<Vertex<V>, Integer> inCount = new ProbeHashMap<>();
-    for (Vertex<V> u : g.vertices()) {
-      inCount.put(u, g.inDegree(u));           // initialize with actual in-degree
-      if (inCount.get(u) == 0)                 // if u has no incoming edges,
-        ready.push(u);                         // it is free of constraints
+    int n = g.numVertices();
+    @SuppressWarnings({"unchecked"})
+    Vertex<V>[] vertexOf = (Vertex<V>[]) new Vertex[n];
+    ToIntFunction<Vertex<V>> ids = vertexIds(g, vertexOf);
+    // ids of the vertices that have no remaining constraints
+    IntArrayList ready = new IntArrayList(n);
+    // inCount[id] is the remaining in-degree of the vertex with that id
+    int[] inCount = new int[n];
+    for (int id = 0; id < n; id++) {
+      inCount[id] = g.inDegree(vertexOf[id]);  // initialize with actual in-degree
+      if (inCount[id] == 0)                    // if u has no incoming edges,
+        ready.add(id);                         // it is free of constraints
     }
     while (!ready.isEmpty()) {
-      Vertex<V> u = ready.pop();
+      Vertex<V> u = vertexOf[ready.removeLast()];
       topo.addLast(u);
       for (Edge<E> e : g.outgoingEdges(u)) {   // consider all outgoing neighbors of u
-        Vertex<V> v = g.opposite(u, e);
-        inCount.put(v, inCount.get(v) - 1);    // v has one less constraint without u
-        if (inCount.get(v) == 0)
-          ready.push(v);
+        int v = ids.applyAsInt(g.opposite(u, e));
+        if (--inCount[v] == 0)                 // v has one less constraint without u
+          ready.add(v);
       }
     }
     return topo;
@@ -195,207 +203,560 @@ public class GraphAlgorithms {
      */
     public static <V> Map<Vertex<V>, Integer>
     shortestPathLengths(Graph<V, Integer> grafo, Vertex<V> origen) {
-        // d.get(v) is upper bound on distance from src to v
-        Map<Vertex<V>, Integer> d = new ProbeHashMap<>();
-        // map reachable v to its d value
-        Map<Vertex<V>, Integer> cloud = new ProbeHashMap<>();
-        // pq will have vertices as elements, with d.get(v) as key
-        AdaptablePriorityQueue<Integer, Vertex<V>> pq;
-        pq = new HeapAdaptablePriorityQueue<>();
-        // maps from vertex to its pq locator
-        Map<Vertex<V>, Entry<Integer, Vertex<V>>> pqTokens;
-        pqTokens = new ProbeHashMap<>();
-
-        // for each vertex v of the graph, add an entry to the priority queue, with
-        // the source having distance 0 and all others having infinite distance
-        for (Vertex<V> v : grafo.vertices()) {
-            if (v == origen)
-                d.put(v, 0);
-            else
-                d.put(v, Integer.MAX_VALUE);
-            pqTokens.put(v, pq.insert(d.get(v), v));       // save entry for future updates
+        return shortestPathTree(grafo, origen).distances();
+    }
+
+  /**
+   * Computes the shortest-path tree rooted at src vertex of g in a single pass.
+   * <p>
+   * This implementation uses Dijkstra's algorithm, recording for each vertex the
+   * edge that produced its current distance at the moment it is relaxed, so both
+   * distances and parent edges are available without a second scan of the edges.
+   * Vertices enter the indexed int heap only once they are reached, so unreachable
+   * vertices are never inserted.
+   * <p>
+   * The edge's element is assumed to be its integral weight.
+   */
+  public static <V> ShortestPathTree<V> shortestPathTree(Graph<V,Integer> g, Vertex<V> src) {
+    int n = g.numVertices();
+    // vertices receive dense ids as they are discovered, so unreachable ones never get one
+    ObjIntMap<Vertex<V>> ids = new ObjIntMap<>();
+    @SuppressWarnings({"unchecked"})
+    Vertex<V>[] vertexOf = (Vertex<V>[]) new Vertex[n];
+    // d[id] is upper bound on distance from src to the vertex with that id
+    int[] d = new int[n];
+    // edgeTo[id] is the edge that gives its current d value
+    @SuppressWarnings({"unchecked"})
+    Edge<Integer>[] edgeTo = (Edge<Integer>[]) new Edge[n];
+    boolean[] settled = new boolean[n];
+    // pq holds the ids of discovered but unsettled vertices, with d[id] as key
+    IndexedIntHeap pq = new IndexedIntHeap(n);
+
+    ids.put(src, 0);
+    vertexOf[0] = src;
+    pq.insert(0, 0);
+    int discovered = 1;
+    // now begin adding reachable vertices to the cloud
+    while (!pq.isEmpty()) {
+      int key = pq.minKey();
+      int u = pq.removeMin();
+      settled[u] = true;                             // d[u] is the actual distance to u
+      Vertex<V> uv = vertexOf[u];
+      for (Edge<Integer> e : g.outgoingEdges(uv)) {
+        Vertex<V> v = g.opposite(uv, e);
+        int id = ids.get(v, -1);
+        if (id < 0) {                                // first time v is reached
+          id = discovered++;
+          ids.put(v, id);
+          vertexOf[id] = v;
+          d[id] = Integer.MAX_VALUE;
         }
-        // now begin adding reachable vertices to the cloud
-        while (!pq.isEmpty()) {
-            Entry<Integer, Vertex<V>> entry = pq.removeMin();
-            int key = entry.getKey();
-            Vertex<V> u = entry.getValue();
-            cloud.put(u, key);                             // this is actual distance to u
-            pqTokens.remove(u);                            // u is no longer in pq
-            for (Edge<Integer> e : grafo.outgoingEdges(u)) {
-                Vertex<V> v = grafo.opposite(u, e);
-                if (cloud.get(v) == null) {
-                    // perform relaxation step on edge (u,v)
-                    int wgt = e.getElement();
-                    if (d.get(u) + wgt < d.get(v)) {              // better path to v?
-                        d.put(v, d.get(u) + wgt);                   // update the distance
-                        pq.replaceKey(pqTokens.get(v), d.get(v));   // update the pq entry
-                    }
-                }
-            }
+        if (!settled[id]) {
+          // perform relaxation step on edge (u,v), without overflowing int
+          long alt = (long) key + e.getElement();
+          if (alt < d[id]) {                         // better path to v?
+            d[id] = (int) alt;                       // update the distance
+            edgeTo[id] = e;                          // and the edge that achieves it
+            pq.insertOrDecrease(id, d[id]);          // update the pq entry
+          }
         }
-        return cloud;         // this only includes reachable vertices
+      }
     }
+    return new ShortestPathTree<>(g, src, ids, vertexOf, d, edgeTo);   // only reachable vertices have ids
+  }
 
   /**
    * Reconstructs a shortest-path tree rooted at vertex s, given distance map d.
    * The tree is represented as a map from each reachable vertex v (other than s)
    * to the edge e = (u,v) that is used to reach v from its parent u in the tree.
+   * When d is not already at hand, spTree(g, s) computes the tree in a single pass.
    */
   public static <V> Map<Vertex<V>,Edge<Integer>> spTree(Graph<V,Integer> grafo, Vertex<V> origen, Map<Vertex<V>,Integer> caminosPonderados) {
-    Map<Vertex<V>, Edge<Integer>> tree = new ProbeHashMap<>();
+    Map<Vertex<V>, Edge<Integer>> tree = new RobinHoodHashMap<>();
     for (Vertex<V> v : caminosPonderados.keySet())
       if (v != origen)
         for (Edge<Integer> e : grafo.incomingEdges(v)) {   // consider INCOMING edges
           Vertex<V> u = grafo.opposite(v, e);
           int wgt = e.getElement();
-          if (caminosPonderados.get(v) == caminosPonderados.get(u) + wgt)
+          Integer du = caminosPonderados.get(u);
+          if (du != null && caminosPonderados.get(v) == du + wgt)
             tree.put(v, e);                            // edge is used to reach v
         }
     return tree;
   }
 
   /**
-   * Computes a minimum spanning tree of connected, weighted graph g using Kruskal's algorithm.
+   * Computes a shortest-path tree rooted at vertex s with a single run of Dijkstra's algorithm.
+   * The tree is represented as a map from each reachable vertex v (other than s)
+   * to the edge e = (u,v) that is used to reach v from its parent u in the tree.
+   */
+  public static <V> Map<Vertex<V>,Edge<Integer>> spTree(Graph<V,Integer> grafo, Vertex<V> origen) {
+    return shortestPathTree(grafo, origen).parentEdges();
+  }
+
+  /**
+   * Computes a minimum spanning forest of weighted graph g using Filter-Kruskal.
+   * The edges are copied into primitive arrays first; see filterKruskal.
    *
-   * Result is returned as a list of edges that comprise the MST (in arbitrary order).
+   * Result is returned as a list of edges that comprise the forest (in increasing weight).
    */
   public static <V> PositionalList<Edge<Integer>> MST(Graph<V,Integer> g) {
-    // tree is where we will store result as it is computed
+    int n = g.numVertices();
+    int m = g.numEdges();
+    // dense id for each vertex
+    @SuppressWarnings({"unchecked"})
+    Vertex<V>[] vertexOf = (Vertex<V>[]) new Vertex[n];
+    ToIntFunction<Vertex<V>> ids = vertexIds(g, vertexOf);
+    @SuppressWarnings({"unchecked"})
+    Edge<Integer>[] edgeOf = (Edge<Integer>[]) new Edge[m];
+    int[] source = new int[m];
+    int[] target = new int[m];
+    int[] weight = new int[m];
+    int id = 0;
+    for (Edge<Integer> e : g.edges()) {
+      Vertex<V>[] endpoints = g.endVertices(e);
+      edgeOf[id] = e;
+      source[id] = ids.applyAsInt(endpoints[0]);
+      target[id] = ids.applyAsInt(endpoints[1]);
+      weight[id++] = e.getElement();
+    }
+
     PositionalList<Edge<Integer>> tree = new LinkedPositionalList<>();
-    // pq entries are edges of graph, with weights as keys
-    PriorityQueue<Integer, Edge<Integer>> pq = new HeapPriorityQueue<>();
-    // union-find forest of components of the graph
-    Partition<Vertex<V>> forest = new Partition<>();
-    // map each vertex to the forest position
-    Map<Vertex<V>,Position<Vertex<V>>> positions = new ProbeHashMap<>();
-
-    for (Vertex<V> v : g.vertices())
-      positions.put(v, forest.makeCluster(v));
-
-    for (Edge<Integer> e : g.edges())
-      pq.insert(e.getElement(), e);
-
-    int size = g.numVertices();
-    // while tree not spanning and unprocessed edges remain...
-    while (tree.size() != size - 1 && !pq.isEmpty()) {
-      Entry<Integer, Edge<Integer>> entry = pq.removeMin();
-      Edge<Integer> edge = entry.getValue();
-      Vertex<V>[] endpoints = g.endVertices(edge);
-      Position<Vertex<V>> a = forest.find(positions.get(endpoints[0]));
-      Position<Vertex<V>> b = forest.find(positions.get(endpoints[1]));
-      if (a != b) {
-        tree.addLast(edge);
-        forest.union(a,b);
+    for (int e : filterKruskal(n, source, target, weight))
+      tree.addLast(edgeOf[e]);
+    return tree;
+  }
+
+  /**
+   * Computes a minimum spanning forest of weighted graph g using the Prim-Jarnik algorithm,
+   * growing one tree from every vertex not yet covered.
+   *
+   * Vertices enter the indexed int heap only when an edge first reaches them, keyed by
+   * the lightest edge connecting them to the tree grown so far.
+   *
+   * Result is returned as a list of edges that comprise the forest (in the order they were added).
+   */
+  public static <V> PositionalList<Edge<Integer>> PrimJarnik(Graph<V,Integer> g) {
+    PositionalList<Edge<Integer>> tree = new LinkedPositionalList<>();
+    int n = g.numVertices();
+    // dense id for each vertex, and the vertex for each id
+    @SuppressWarnings({"unchecked"})
+    Vertex<V>[] vertexOf = (Vertex<V>[]) new Vertex[n];
+    ToIntFunction<Vertex<V>> ids = vertexIds(g, vertexOf);
+    // connect[v] is the lightest edge known from the tree to v
+    @SuppressWarnings({"unchecked"})
+    Edge<Integer>[] connect = (Edge<Integer>[]) new Edge[n];
+    boolean[] inTree = new boolean[n];
+    IndexedIntHeap pq = new IndexedIntHeap(n);
+
+    for (int root = 0; root < n; root++) {
+      if (inTree[root]) continue;               // already covered by an earlier tree
+      pq.insert(root, 0);
+      while (!pq.isEmpty()) {
+        int u = pq.removeMin();
+        inTree[u] = true;
+        if (connect[u] != null)
+          tree.addLast(connect[u]);
+        for (Edge<Integer> e : g.outgoingEdges(vertexOf[u])) {
+          int v = ids.applyAsInt(g.opposite(vertexOf[u], e));
+          if (!inTree[v] && pq.insertOrDecrease(v, e.getElement()))
+            connect[v] = e;                     // e is now the lightest edge to v
+        }
       }
     }
-
     return tree;
   }
-  	/**
-	 * Computes shortest-path distances from origen vertex to destino vertex of grafo.
-	 *
-	 * This implementation uses Dijkstra's algorithm and shortest-path tree retun a
-	 * Positional List of vertex
-	 *
-	 * The edge's element is assumed to be its integral weight.
-	 */
+  /**
+   * Computes shortest-path distances from origen vertex to destino vertex of grafo.
+   *
+   * This implementation runs Dijkstra's algorithm once, recording parent edges as
+   * it goes, and returns the path as a Positional List of vertex
+   *
+   * The edge's element is assumed to be its integral weight.
+   */
   public static <V> PositionalList<Vertex<V>> shortestPathList(Graph<V, Integer> grafo, Vertex<V> origen, Vertex<V> destino) {
-	    PositionalList<Vertex<V>> path = new LinkedPositionalList<>();
-	    
-	    Map<Vertex<V>, Integer> caminosPesados = GraphAlgorithms.shortestPathLengths(grafo, origen); //devuelve un mapa de los vertices y su peso para ir
-	    Map<Vertex<V>, Edge<Integer>> tree = GraphAlgorithms.spTree(grafo, origen, caminosPesados); //usa el mapa de vertices ponderados y arma el camino
-	    
-	    Edge<Integer> arc;
-	    Vertex<V> current = destino;
-
-        //Reconstruyo el camino deseado desde atras hacia adelante
-	    while (!current.equals(origen)) {
-	        path.addFirst(current);
-	        arc = tree.get(current);
-	        if (arc == null) {
-	            throw new IllegalArgumentException("No hay camino desde " + origen.getElement() + " a " + destino.getElement());
-	        }
-	        current = grafo.opposite(current, arc);
-	    }
-	    
-	    path.addFirst(origen);
-	    return path;
-	}
+    return shortestPathTree(grafo, origen).pathTo(destino);
+  }
 
+  /**
+   * Computes a shortest path from vertex src to vertex dst of grafo, returned as the
+   * list of vertices along the path.
+   * <p>
+   * This implementation runs Dijkstra's algorithm simultaneously from src (along
+   * outgoing edges) and from dst (along incoming edges), always advancing the side
+   * with the smaller frontier, and stops as soon as the sum of the two smallest
+   * tentative distances can no longer improve the best meeting point found.
+   * Only the vertices around the two searches are ever visited.
+   * <p>
+   * The edge's element is assumed to be its non-negative integral weight.
+   *
+   * @throws IllegalArgumentException if dst is not reachable from src
+   */
+  public static <V> PositionalList<Vertex<V>>
+  bidirectionalShortestPath(Graph<V,Integer> grafo, Vertex<V> src, Vertex<V> dst) {
+    PositionalList<Vertex<V>> path = new LinkedPositionalList<>();
+    if (src == dst) {
+      path.addFirst(src);
+      return path;
+    }
+    int n = grafo.numVertices();
+    // vertices touched by either search receive dense ids as they are discovered
+    ObjIntMap<Vertex<V>> ids = new ObjIntMap<>();
+    @SuppressWarnings({"unchecked"})
+    Vertex<V>[] vertexOf = (Vertex<V>[]) new Vertex[n];
+    // tentative distances and parent edges of each search, indexed by id
+    int[] distF = new int[n], distB = new int[n];
+    @SuppressWarnings({"unchecked"})
+    Edge<Integer>[] parentF = (Edge<Integer>[]) new Edge[n], parentB = (Edge<Integer>[]) new Edge[n];
+    boolean[] doneF = new boolean[n], doneB = new boolean[n];
+    IndexedIntHeap pqF = new IndexedIntHeap(n), pqB = new IndexedIntHeap(n);
+    Arrays.fill(distF, Integer.MAX_VALUE);
+    Arrays.fill(distB, Integer.MAX_VALUE);
+    ids.put(src, 0);
+    vertexOf[0] = src;
+    ids.put(dst, 1);
+    vertexOf[1] = dst;
+    int discovered = 2;
+    distF[0] = 0;
+    pqF.insert(0, 0);
+    distB[1] = 0;
+    pqB.insert(1, 0);
+
+    long best = Long.MAX_VALUE;                  // length of the best path seen so far
+    int meet = -1;                               // vertex where that path joins both searches
+    while (!pqF.isEmpty() && !pqB.isEmpty()) {
+      if ((long) pqF.minKey() + pqB.minKey() >= best)
+        break;                                   // no shorter path can be found
+      boolean forward = pqF.size() <= pqB.size();
+      IndexedIntHeap pq = forward ? pqF : pqB;
+      int[] dist = forward ? distF : distB;
+      int[] other = forward ? distB : distF;
+      Edge<Integer>[] parent = forward ? parentF : parentB;
+      boolean[] done = forward ? doneF : doneB;
+
+      int u = pq.removeMin();
+      done[u] = true;
+      Vertex<V> uv = vertexOf[u];
+      for (Edge<Integer> e : forward ? grafo.outgoingEdges(uv) : grafo.incomingEdges(uv)) {
+        Vertex<V> w = grafo.opposite(uv, e);
+        int v = ids.get(w, -1);
+        if (v < 0) {                             // first time either search reaches w
+          v = discovered++;
+          ids.put(w, v);
+          vertexOf[v] = w;
+        }
+        if (done[v]) continue;
+        long dv = (long) dist[u] + e.getElement();
+        if (dv < dist[v]) {                      // better path to v?
+          dist[v] = (int) dv;
+          parent[v] = e;
+          pq.insertOrDecrease(v, dist[v]);
+          if (other[v] != Integer.MAX_VALUE && dv + other[v] < best) {
+            best = dv + other[v];
+            meet = v;
+          }
+        }
+      }
+    }
+    if (meet < 0)
+      throw new IllegalArgumentException("No hay camino desde " + src.getElement() + " a " + dst.getElement());
+
+    // walk back to the source, then forward to the destination
+    Vertex<V> joint = vertexOf[meet];
+    for (Vertex<V> walk = joint; walk != src; walk = grafo.opposite(walk, parentF[ids.get(walk, -1)]))
+      path.addFirst(walk);
+    path.addFirst(src);
+    for (Vertex<V> walk = joint; walk != dst; ) {
+      walk = grafo.opposite(walk, parentB[ids.get(walk, -1)]);
+      path.addLast(walk);
+    }
+    return path;
+  }
 
     /**
-     * Calcula el flujo máximo entre source y sink usando el algoritmo de Edmonds-Karp.
+     * Calcula el flujo máximo entre source y sink.
      * Asume que el elemento de la arista (E) es un Integer que representa la capacidad.
+     * Copia el grafo en una instantánea CSR y resuelve el flujo con el algoritmo de Dinic de
+     * FlowNetwork, cuya red residual tiene un arco inverso por arco, de modo que el flujo ya
+     * enviado puede deshacerse y el valor es siempre el máximo. En un grafo no dirigido cada
+     * arista admite flujo en cualquiera de los dos sentidos.
+     * @throws IllegalArgumentException si source y sink son el mismo vértice
      */
     public static <V> int maxFlow(Graph<V, Integer> g, Vertex<V> source, Vertex<V> sink) {
-        int maxFlow = 0;
+        CSRGraph<V, Integer> instantanea = new CSRGraph<>(g, c -> c);
+        FlowNetwork<V> residual = new FlowNetwork<>(instantanea);
+        long flujo = residual.maxFlow(instantanea.vertexId(source), instantanea.vertexId(sink),
+                FlowNetwork.Algorithm.DINIC);
+        return (int) Math.min(flujo, Integer.MAX_VALUE);
+    }
 
-        Map<Edge<Integer>, Integer> flowMap = new ProbeHashMap<>();
-        //Inicializo el flujo de todas las aristas en 0
-        for (Edge<Integer> e : g.edges()) {
-            flowMap.put(e, 0);
+  /**
+   * Fills vertexOf with the vertices of g indexed by dense id and returns the function
+   * giving the id of a vertex. The ids of an IndexedGraph are used as they are; other
+   * graphs get ids in iteration order, looked up in an ObjIntMap.
+   */
+  private static <V,E> ToIntFunction<Vertex<V>> vertexIds(Graph<V,E> g, Vertex<V>[] vertexOf) {
+    if (g instanceof IndexedGraph) {
+      IndexedGraph<V,E> indexed = (IndexedGraph<V,E>) g;
+      for (int id = 0; id < vertexOf.length; id++)
+        vertexOf[id] = indexed.vertexAt(id);
+      return indexed::vertexId;
+    }
+    ObjIntMap<Vertex<V>> ids = new ObjIntMap<>(vertexOf.length);
+    int id = 0;
+    for (Vertex<V> v : g.vertices()) {
+      vertexOf[id] = v;
+      ids.put(v, id++);
+    }
+    return v -> ids.get(v, -1);
+  }
+
+  //---------------- algorithms on CSRGraph snapshots ----------------
+
+  /**
+   * Performs breadth-first search of the undiscovered portion of CSRGraph g starting at vertex id s.
+   *
+   * @param g CSRGraph instance
+   * @param s id of the vertex that will be the source of the search
+   * @param known known[v] is true for previously discovered vertex ids
+   * @param forest forest[v] is set to the arc index that discovered v
+   *
+   * As an outcome, this method marks newly discovered vertices (including s) as known,
+   * and records their discovery arcs in the forest.
+   */
+  public static <V,E> void BFS(CSRGraph<V,E> g, int s, boolean[] known, int[] forest) {
+    int[] queue = new int[g.numVertices()];
+    int head = 0, tail = 0;
+    known[s] = true;
+    queue[tail++] = s;
+    while (head < tail) {
+      int u = queue[head++];
+      for (int k = g.firstArc(u); k < g.endArc(u); k++) {
+        int v = g.arcTarget(k);
+        if (!known[v]) {
+          known[v] = true;
+          forest[v] = k;                        // k is the tree arc that discovered v
+          queue[tail++] = v;
         }
+      }
+    }
+  }
 
-        while (true) {
-            Map<Vertex<V>, Edge<Integer>> parentMap = new ProbeHashMap<>();
-            Queue<Vertex<V>> queue = new LinkedQueue<>();
-            Set<Vertex<V>> visited = new HashSet<>();
-
-            queue.enqueue(source);
-            visited.add(source);
-
-            boolean pathFound = false;
-            while (!queue.isEmpty()) {
-                Vertex<V> u = queue.dequeue();
-                if (u == sink) {
-                    pathFound = true;
-                    break;
-                }
-
-                for (Edge<Integer> e : g.outgoingEdges(u)) {
-                    Vertex<V> v = g.opposite(u, e);
-
-                    int capacity = e.getElement();
-                    int currentFlow = flowMap.get(e);
-                    int residual = capacity - currentFlow;
-
-                    if (residual > 0 && !visited.contains(v)) {
-                        visited.add(v);
-                        parentMap.put(v, e);
-                        queue.enqueue(v);
-                    }
-                }
-            }
-
-            if (!pathFound) {
-                break; // No hay mas caminos, terminamos
-            }
-
-            int pathFlow = Integer.MAX_VALUE;
-            Vertex<V> curr = sink;
-            while (curr != source) {
-                Edge<Integer> edge = parentMap.get(curr);
-                int capacity = edge.getElement();
-                int currentFlow = flowMap.get(edge);
-                pathFlow = Math.min(pathFlow, capacity - currentFlow);
-
-                Vertex<V>[] ends = g.endVertices(edge);
-
-                curr = g.opposite(curr, edge);
-            }
-
-            curr = sink;
-            while (curr != source) {
-                Edge<Integer> edge = parentMap.get(curr);
-                int currentFlow = flowMap.get(edge);
-                flowMap.put(edge, currentFlow + pathFlow);
-                curr = g.opposite(curr, edge);
-            }
-
-            maxFlow += pathFlow;
+  /**
+   * Computes shortest-path distances from vertex id src to all vertices of g.
+   * <p>
+   * This implementation uses Dijkstra's algorithm on the CSR arrays, with an
+   * indexed int heap that only ever holds reached, unsettled vertices.
+   * <p>
+   * Unreachable vertices get distance Integer.MAX_VALUE.
+   *
+   * @param g CSRGraph instance with non-negative arc weights
+   * @param src id of the source vertex
+   * @param parent if not null, parent[v] is set to the predecessor of v on a shortest
+   *               path (src is its own parent, and -1 marks unreachable vertices)
+   * @return array of distances indexed by vertex id
+   */
+  public static <V,E> int[] shortestPathLengths(CSRGraph<V,E> g, int src, int[] parent) {
+    int n = g.numVertices();
+    int[] d = new int[n];
+    Arrays.fill(d, Integer.MAX_VALUE);
+    if (parent != null) {
+      Arrays.fill(parent, -1);
+      parent[src] = src;
+    }
+    d[src] = 0;
+    // only reached vertices enter the heap, keyed by their tentative distance
+    IndexedIntHeap pq = new IndexedIntHeap(n);
+    pq.insert(src, 0);
+    while (!pq.isEmpty()) {
+      int u = pq.removeMin();
+      int du = d[u];                            // this is actual distance to u
+      for (int k = g.firstArc(u); k < g.endArc(u); k++) {
+        int v = g.arcTarget(k);
+        long dv = (long) du + g.arcWeight(k);
+        if (dv < d[v]) {                        // better path to v?
+          d[v] = (int) dv;
+          if (parent != null) parent[v] = u;
+          pq.insertOrDecrease(v, d[v]);
         }
+      }
+    }
+    return d;
+  }
 
-        return maxFlow;
+  /**
+   * Computes a shortest path between vertex ids src and dst of the landmarks' graph
+   * with the A* algorithm, using the landmark lower bounds as heuristic (ALT).
+   * With no landmarks this is Dijkstra's algorithm stopped at the destination.
+   *
+   * @param alt landmark distances, which also provide the graph
+   * @param src id of the source vertex
+   * @param dst id of the destination vertex
+   * @return the path, its length and the number of settled vertices
+   * @throws IllegalArgumentException if dst is not reachable from src
+   */
+  public static <V> PathResult<V> aStarShortestPath(Landmarks<V> alt, int src, int dst) {
+    CSRGraph<V,Integer> g = alt.getGraph();
+    int n = g.numVertices();
+    int[] d = new int[n];
+    int[] parent = new int[n];
+    boolean[] settled = new boolean[n];
+    Arrays.fill(d, Integer.MAX_VALUE);
+    d[src] = 0;
+    parent[src] = src;
+    // only reached vertices enter the heap, keyed by d plus their lower bound to dst
+    IndexedIntHeap pq = new IndexedIntHeap(n);
+    pq.insert(src, alt.lowerBound(src, dst));
+    int count = 0;
+    while (!pq.isEmpty()) {
+      int u = pq.removeMin();
+      settled[u] = true;
+      count++;
+      if (u == dst) break;                      // destination settled: its distance is final
+      for (int k = g.firstArc(u); k < g.endArc(u); k++) {
+        int v = g.arcTarget(k);
+        long dv = (long) d[u] + g.arcWeight(k);
+        if (!settled[v] && dv < d[v]) {
+          d[v] = (int) dv;
+          parent[v] = u;
+          pq.insertOrDecrease(v, (int) Math.min(dv + alt.lowerBound(v, dst), Integer.MAX_VALUE));
+        }
+      }
+    }
+    if (!settled[dst])
+      throw new IllegalArgumentException("No hay camino desde " + g.vertexAt(src).getElement() + " a " + g.vertexAt(dst).getElement());
+
+    PositionalList<Vertex<V>> path = new LinkedPositionalList<>();
+    for (int walk = dst; walk != src; walk = parent[walk])
+      path.addFirst(g.vertexAt(walk));
+    path.addFirst(g.vertexAt(src));
+    return new PathResult<>(path, d[dst], count);
+  }
+
+  /**
+   * Computes up to k loopless paths from vertex id src to vertex id dst of g, shortest
+   * first, with Yen's algorithm; see KShortestPaths. To query many sources towards the
+   * same destination, build a single KShortestPaths instead.
+   *
+   * @return the paths with their lengths, shorter than k if there are fewer paths
+   */
+  public static <V> PositionalList<PathResult<V>> kShortestPaths(CSRGraph<V,Integer> g, int src, int dst, int k) {
+    return new KShortestPaths<>(g, dst).paths(src, k);
+  }
+
+  /**
+   * Computes a minimum spanning forest of CSRGraph g using Filter-Kruskal over the
+   * weights extracted when the snapshot was built; see filterKruskal.
+   *
+   * Result is returned as a list of edges that comprise the forest (in increasing weight).
+   */
+  public static <V> PositionalList<Edge<Integer>> MST(CSRGraph<V,Integer> g) {
+    int m = g.numEdges();
+    int[] source = new int[m];
+    int[] target = new int[m];
+    int[] weight = new int[m];
+    for (int e = 0; e < m; e++) {
+      source[e] = g.edgeSource(e);
+      target[e] = g.edgeTarget(e);
+      weight[e] = g.edgeWeight(e);
     }
+    PositionalList<Edge<Integer>> tree = new LinkedPositionalList<>();
+    for (int e : filterKruskal(g.numVertices(), source, target, weight))
+      tree.addLast(g.edgeAt(e));
+    return tree;
+  }
+
+  /** Below this many edges Filter-Kruskal sorts its range instead of partitioning it. */
+  private static final int FILTER_KRUSKAL_THRESHOLD = 512;
+
+  /**
+   * Computes the ids of the edges of a minimum spanning forest of the graph with n
+   * vertices whose edge e joins source[e] and target[e] with the given weight.
+   *
+   * Edges are handled as primitive (weight, id) keys, so ties are broken by id and the
+   * forest is unique. Filter-Kruskal partitions the keys around a pivot, solves the
+   * lighter half first, and then discards from the heavier half every edge whose
+   * endpoints are already connected before recursing on it; small ranges are sorted
+   * and scanned as in plain Kruskal. The number of components is counted up front with
+   * a union-find pass, so the search stops as soon as the forest has V - components
+   * edges, and the heavy edges of dense or disconnected graphs are never sorted.
+   *
+   * @return the ids of the forest edges in increasing (weight, id) order
+   */
+  private static int[] filterKruskal(int n, int[] source, int[] target, int[] weight) {
+    int m = source.length;
+    IntUnionFind connectivity = new IntUnionFind(n);
+    for (int e = 0; e < m; e++)
+      connectivity.union(source[e], target[e]);
+    int components = connectivity.numSets();
+
+    long[] keys = new long[m];
+    for (int e = 0; e < m; e++)
+      keys[e] = ((long) weight[e] << 32) | e;
+    int[] tree = new int[n - components];
+    int found = filterKruskal(keys, 0, m, source, target, new IntUnionFind(n), tree, 0);
+    assert found == tree.length;
+    return tree;
+  }
+
+  /**
+   * Adds to tree, starting at index found, the forest edges among keys[lo..hi-1];
+   * returns the new number of forest edges.
+   */
+  private static int filterKruskal(long[] keys, int lo, int hi, int[] source, int[] target,
+                                   IntUnionFind forest, int[] tree, int found) {
+    while (found < tree.length && lo < hi) {
+      if (hi - lo <= FILTER_KRUSKAL_THRESHOLD) {
+        Arrays.sort(keys, lo, hi);
+        for (int j = lo; j < hi && found < tree.length; j++) {
+          int e = (int) keys[j];
+          if (forest.union(source[e], target[e]))
+            tree[found++] = e;
+        }
+        return found;
+      }
+      // partition around the median of three keys: keys[lo..mid-1] <= pivot < keys[mid..hi-1]
+      long x = keys[lo], y = keys[(lo + hi) >>> 1], z = keys[hi - 1];
+      long pivot = Math.max(Math.min(x, y), Math.min(Math.max(x, y), z));
+      int mid = lo;
+      for (int j = lo; j < hi; j++)
+        if (keys[j] <= pivot) {
+          long t = keys[j];
+          keys[j] = keys[mid];
+          keys[mid++] = t;
+        }
+      found = filterKruskal(keys, lo, mid, source, target, forest, tree, found);
+      // filter: keep only heavier edges that still join different components
+      int kept = mid;
+      for (int j = mid; j < hi; j++) {
+        int e = (int) keys[j];
+        if (!forest.connected(source[e], target[e]))
+          keys[kept++] = keys[j];
+      }
+      lo = mid;                                 // continue with the filtered heavier part
+      hi = kept;
+    }
+    return found;
+  }
+
+  /**
+   * Labels the connected components of CSRGraph g, ignoring edge directions.
+   *
+   * @return array such that element v is the smallest vertex id in the component of v
+   */
+  public static <V,E> int[] connectedComponents(CSRGraph<V,E> g) {
+    int n = g.numVertices();
+    IntUnionFind components = new IntUnionFind(n);
+    for (int e = 0; e < g.numEdges(); e++)
+      components.union(g.edgeSource(e), g.edgeTarget(e));
+    int[] label = new int[n];
+    int[] first = new int[n];                   // first[r] is one more than the smallest id led by r
+    for (int v = 0; v < n; v++) {
+      int r = components.find(v);
+      if (first[r] == 0)
+        first[r] = v + 1;
+      label[v] = first[r] - 1;
+    }
+    return label;
+  }
 }
@@ -0,0 +1,31 @@
+package net.datastructures;
+
+/**
+ * A graph whose vertices and edges are numbered with dense ids.
+ *
+ * Vertex ids are exactly 0..numVertices()-1 and edge ids 0..numEdges()-1, so
+ * algorithms can keep per-vertex and per-edge state in plain arrays indexed by id
+ * instead of maps keyed by the Vertex and Edge instances. An id is fixed while the
+ * graph is not modified; graphs that allow removals may renumber what remains so
+ * that the ids stay dense.
+ */
+public interface IndexedGraph<V,E> extends Graph<V,E> {
+
+  /**
+   * Returns the dense id of vertex v.
+   * @throws IllegalArgumentException if v is not a valid vertex
+   */
+  int vertexId(Vertex<V> v) throws IllegalArgumentException;
+
+  /** Returns the vertex having the given dense id. */
+  Vertex<V> vertexAt(int id);
+
+  /**
+   * Returns the dense id of edge e.
+   * @throws IllegalArgumentException if e is not a valid edge
+   */
+  int edgeId(Edge<E> e) throws IllegalArgumentException;
+
+  /** Returns the edge having the given dense id. */
+  Edge<E> edgeAt(int id);
+}
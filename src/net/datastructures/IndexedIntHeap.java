@@ -0,0 +1,160 @@
+package net.datastructures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * An indexed d-ary min-heap of int keys for items identified by dense int ids 0..capacity-1.
+ *
+ * Each id can be in the heap at most once. Because the heap records the position of
+ * every id, decreaseKey runs in O(log_d n) without searching, and no objects are
+ * allocated by any operation after construction. A d-ary layout (d = 4 by default)
+ * makes the heap shallower and keeps the children of a node next to each other in
+ * memory, which favours the many decreaseKey calls of Dijkstra and Prim-Jarnik.
+ */
+public class IndexedIntHeap {
+  private final int d;          // arity of the heap
+  private final int[] heap;     // heap[j] is the id stored at index j
+  private final int[] pos;      // pos[id] is the index of id within heap, or -1 if absent
+  private final int[] keys;     // keys[id] is the current key of id
+  private int size = 0;
+
+  /** Creates an empty 4-ary heap for ids 0..capacity-1. */
+  public IndexedIntHeap(int capacity) { this(capacity, 4); }
+
+  /**
+   * Creates an empty d-ary heap for ids 0..capacity-1.
+   * @param capacity number of distinct ids
+   * @param d        arity of the heap (at least 2)
+   */
+  public IndexedIntHeap(int capacity, int d) {
+    if (d < 2) throw new IllegalArgumentException("Arity must be at least 2");
+    this.d = d;
+    heap = new int[capacity];
+    pos = new int[capacity];
+    keys = new int[capacity];
+    Arrays.fill(pos, -1);
+  }
+
+  /** Returns the number of ids in the heap. */
+  public int size() { return size; }
+
+  /** Tests whether the heap is empty. */
+  public boolean isEmpty() { return size == 0; }
+
+  /** Returns true if the given id is currently in the heap. */
+  public boolean contains(int id) { return pos[id] >= 0; }
+
+  /** Returns the current key of an id in the heap. */
+  public int key(int id) {
+    if (pos[id] < 0) throw new IllegalArgumentException("Id not in heap");
+    return keys[id];
+  }
+
+  /** Returns (but does not remove) an id with minimal key. */
+  public int min() {
+    if (size == 0) throw new NoSuchElementException("Heap is empty");
+    return heap[0];
+  }
+
+  /** Returns the minimal key in the heap. */
+  public int minKey() { return keys[min()]; }
+
+  /**
+   * Inserts an id with the given key.
+   * @throws IllegalArgumentException if the id is already in the heap
+   */
+  public void insert(int id, int key) {
+    if (pos[id] >= 0) throw new IllegalArgumentException("Id already in heap");
+    keys[id] = key;
+    heap[size] = id;
+    pos[id] = size;
+    upheap(size++);
+  }
+
+  /**
+   * Lowers the key of an id already in the heap.
+   * @throws IllegalArgumentException if the id is absent or the key would increase
+   */
+  public void decreaseKey(int id, int key) {
+    if (pos[id] < 0) throw new IllegalArgumentException("Id not in heap");
+    if (key > keys[id]) throw new IllegalArgumentException("Key would increase");
+    keys[id] = key;
+    upheap(pos[id]);
+  }
+
+  /**
+   * Inserts the id with the given key, or lowers its key if it is already present
+   * with a larger one.
+   * @return true if the heap changed
+   */
+  public boolean insertOrDecrease(int id, int key) {
+    if (pos[id] < 0) {
+      insert(id, key);
+      return true;
+    }
+    if (key < keys[id]) {
+      keys[id] = key;
+      upheap(pos[id]);
+      return true;
+    }
+    return false;
+  }
+
+  /** Removes and returns an id with minimal key. */
+  public int removeMin() {
+    int answer = min();
+    int last = heap[--size];
+    pos[answer] = -1;
+    if (size > 0) {
+      heap[0] = last;
+      pos[last] = 0;
+      downheap(0);
+    }
+    return answer;
+  }
+
+  /** Removes every id from the heap, in time proportional to the current size. */
+  public void clear() {
+    for (int j = 0; j < size; j++)
+      pos[heap[j]] = -1;
+    size = 0;
+  }
+
+  /** Moves the id at index j higher, if necessary, to restore the heap property. */
+  private void upheap(int j) {
+    int id = heap[j];
+    int key = keys[id];
+    while (j > 0) {
+      int p = (j - 1) / d;
+      int parent = heap[p];
+      if (keys[parent] <= key) break;      // heap property verified
+      heap[j] = parent;                    // shift parent down instead of swapping
+      pos[parent] = j;
+      j = p;
+    }
+    heap[j] = id;
+    pos[id] = j;
+  }
+
+  /** Moves the id at index j lower, if necessary, to restore the heap property. */
+  private void downheap(int j) {
+    int id = heap[j];
+    int key = keys[id];
+    while (true) {
+      int first = d * j + 1;
+      if (first >= size) break;
+      int last = Math.min(first + d, size);
+      int best = first;                    // find the child with the smallest key
+      for (int c = first + 1; c < last; c++)
+        if (keys[heap[c]] < keys[heap[best]])
+          best = c;
+      if (keys[heap[best]] >= key) break;  // heap property has been restored
+      heap[j] = heap[best];
+      pos[heap[j]] = j;
+      j = best;
+    }
+    heap[j] = id;
+    pos[id] = j;
+  }
+}
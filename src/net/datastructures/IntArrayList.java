@@ -0,0 +1,75 @@
+package net.datastructures;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of primitive ints.
+ *
+ * The backing array doubles when full and never shrinks, so a list reused across
+ * calls allocates nothing once it has reached its largest size. Adding and removing
+ * at the end take O(1) amortized time, so the list also serves as a stack.
+ */
+public class IntArrayList {
+  private int[] data;
+  private int size = 0;
+
+  /** Creates an empty list with room for 16 elements. */
+  public IntArrayList() { this(16); }
+
+  /** Creates an empty list with room for the given number of elements. */
+  public IntArrayList(int capacity) { data = new int[Math.max(1, capacity)]; }
+
+  /** Returns the number of elements in the list. */
+  public int size() { return size; }
+
+  /** Tests whether the list is empty. */
+  public boolean isEmpty() { return size == 0; }
+
+  /** Removes all elements. */
+  public void clear() { size = 0; }
+
+  /**
+   * Returns the element at index i.
+   * @throws IndexOutOfBoundsException if i is not in [0, size-1]
+   */
+  public int get(int i) {
+    checkIndex(i);
+    return data[i];
+  }
+
+  /**
+   * Replaces the element at index i with x and returns the replaced element.
+   * @throws IndexOutOfBoundsException if i is not in [0, size-1]
+   */
+  public int set(int i, int x) {
+    checkIndex(i);
+    int old = data[i];
+    data[i] = x;
+    return old;
+  }
+
+  /** Appends x to the end of the list. */
+  public void add(int x) {
+    if (size == data.length)
+      data = Arrays.copyOf(data, 2 * data.length);
+    data[size++] = x;
+  }
+
+  /**
+   * Removes and returns the last element of the list.
+   * @throws IndexOutOfBoundsException if the list is empty
+   */
+  public int removeLast() {
+    checkIndex(size - 1);
+    return data[--size];
+  }
+
+  /** Returns a new array with the elements of the list. */
+  public int[] toArray() { return Arrays.copyOf(data, size); }
+
+  /** Checks whether the given index is in the range [0, size-1]. */
+  private void checkIndex(int i) {
+    if (i < 0 || i >= size)
+      throw new IndexOutOfBoundsException("Illegal index: " + i);
+  }
+}
@@ -0,0 +1,85 @@
+package net.datastructures;
+
+import java.util.Arrays;
+
+/**
+ * A union-find structure over dense integer ids, stored in two int arrays.
+ *
+ * Finds walk iteratively and halve the path as they go, making every visited
+ * element point to its grandparent, so there is no recursion however long a chain
+ * gets. Unions attach the smaller set under the leader of the larger one. New
+ * elements can be added at any time; they receive the next id.
+ */
+public class IntUnionFind {
+  private int[] parent;       // parent[v] == v for a leader
+  private int[] size;         // size[v] is the number of elements of the set led by v
+  private int n;              // number of elements
+  private int sets;           // number of disjoint sets
+
+  /** Creates n singleton sets, one for each id in 0..n-1. */
+  public IntUnionFind(int n) {
+    parent = new int[Math.max(n, 1)];
+    size = new int[parent.length];
+    for (int v = 0; v < n; v++) {
+      parent[v] = v;
+      size[v] = 1;
+    }
+    this.n = n;
+    sets = n;
+  }
+
+  /** Creates an empty structure. */
+  public IntUnionFind() { this(0); }
+
+  /** Returns the number of elements. */
+  public int size() { return n; }
+
+  /** Returns the number of disjoint sets. */
+  public int numSets() { return sets; }
+
+  /** Adds a new singleton set and returns the id of its element. */
+  public int makeSet() {
+    if (n == parent.length) {
+      parent = Arrays.copyOf(parent, 2 * n);
+      size = Arrays.copyOf(size, 2 * n);
+    }
+    parent[n] = n;
+    size[n] = 1;
+    sets++;
+    return n++;
+  }
+
+  /** Returns the leader of the set containing v. */
+  public int find(int v) {
+    while (parent[v] != v) {
+      parent[v] = parent[parent[v]];          // path halving
+      v = parent[v];
+    }
+    return v;
+  }
+
+  /** Returns true if a and b are in the same set. */
+  public boolean connected(int a, int b) { return find(a) == find(b); }
+
+  /** Returns the number of elements in the set containing v. */
+  public int setSize(int v) { return size[find(v)]; }
+
+  /**
+   * Merges the sets containing a and b.
+   * @return true if they were different sets
+   */
+  public boolean union(int a, int b) {
+    a = find(a);
+    b = find(b);
+    if (a == b) return false;
+    if (size[a] < size[b]) {
+      int t = a;
+      a = b;
+      b = t;
+    }
+    parent[b] = a;
+    size[a] += size[b];
+    sets--;
+    return true;
+  }
+}
@@ -0,0 +1,290 @@
+package net.datastructures;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The k shortest loopless paths towards a fixed destination of a CSR graph,
+ * computed with Yen's algorithm.
+ *
+ * The structure is built once per destination and can then answer queries from
+ * any number of sources, which is what makes batches of pairs cheap:
+ * <ul>
+ * <li>A shortest-path tree towards the destination is computed once on the reverse
+ *     graph. Its distances are exact lower bounds for every spur search, which therefore
+ *     runs as A*; and whenever the tree path from a spur node avoids the removed vertices
+ *     and edges, it is taken directly as the spur path with no search at all.</li>
+ * <li>Accepted paths are kept in a prefix tree, so the edges to remove at a spur node
+ *     are simply the children of the node of its root path, instead of comparing the
+ *     root with every accepted path.</li>
+ * <li>Each spur search is paired with a breadth-first search back from the destination,
+ *     one step each at a time. When the removed vertices cut the destination off, the
+ *     backward search runs dry after exploring only the cut-off side, instead of the
+ *     forward search exploring everything reachable from the spur node.</li>
+ * <li>Each path only spurs from the index where it deviated from the path that
+ *     generated it (Lawler's refinement), since earlier spur nodes share their root
+ *     with that path and were already expanded.</li>
+ * </ul>
+ * The edge weights are those extracted when the snapshot was built and must be
+ * non-negative. A single instance must not be queried by several threads at once.
+ */
+public class KShortestPaths<V> {
+  private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+  private final CSRGraph<V,Integer> graph;
+  private final int dst;
+  private final int[] toDst;       // distance from each vertex to dst
+  private final int[] next;        // next vertex towards dst on the reverse tree, or -1
+
+  // scratch state of the spur searches; a vertex's entry is valid only if its stamp matches
+  private final int[] d, parent, reached, done, removed, forbidden, backReached, backQueue;
+  private final IndexedIntHeap pq;
+  private int stamp;
+  private int settled;
+
+  //---------------- nested Candidate class ----------------
+  /**
+   * A path from the source to dst, with the index where it deviated from its parent
+   * and the number of vertices settled by the spur search that found it. Two candidates
+   * are equal if they visit the same vertices in the same order.
+   */
+  private static class Candidate {
+    final int[] nodes;
+    final long cost;
+    final int deviation;
+    final int settled;
+    private final int hash;
+    Candidate(int[] nodes, long cost, int deviation, int settled) {
+      this.nodes = nodes;
+      this.cost = cost;
+      this.deviation = deviation;
+      this.settled = settled;
+      hash = Arrays.hashCode(nodes);
+    }
+    @Override
+    public int hashCode() { return hash; }
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Candidate)) return false;
+      Candidate c = (Candidate) o;
+      return hash == c.hash && Arrays.equals(nodes, c.nodes);
+    }
+  } //----------- end of nested Candidate class -----------
+
+  //---------------- nested Prefix class ----------------
+  /** Node of the prefix tree of accepted paths; its children are linked as siblings. */
+  private static class Prefix {
+    final int vertex;
+    Prefix child, sibling;
+    Prefix(int vertex) { this.vertex = vertex; }
+
+    /** Returns the child for vertex v, creating it if needed. */
+    Prefix childFor(int v) {
+      for (Prefix c = child; c != null; c = c.sibling)
+        if (c.vertex == v) return c;
+      Prefix c = new Prefix(v);
+      c.sibling = child;
+      child = c;
+      return c;
+    }
+  } //----------- end of nested Prefix class -----------
+
+  /**
+   * Prepares queries towards vertex id dst of g, computing the reverse shortest-path tree.
+   */
+  public KShortestPaths(CSRGraph<V,Integer> g, int dst) {
+    graph = g;
+    this.dst = dst;
+    int n = g.numVertices();
+    toDst = new int[n];
+    next = new int[n];
+    Arrays.fill(toDst, UNREACHABLE);
+    Arrays.fill(next, -1);
+    pq = new IndexedIntHeap(n);
+    toDst[dst] = 0;
+    pq.insert(dst, 0);
+    while (!pq.isEmpty()) {                    // Dijkstra from dst along incoming arcs
+      int v = pq.removeMin();
+      for (int k = g.firstInArc(v); k < g.endInArc(v); k++) {
+        int u = g.inArcSource(k);
+        long du = (long) toDst[v] + g.inArcWeight(k);
+        if (du < toDst[u]) {
+          toDst[u] = (int) du;
+          next[u] = v;
+          pq.insertOrDecrease(u, toDst[u]);
+        }
+      }
+    }
+    d = new int[n];
+    parent = new int[n];
+    reached = new int[n];
+    done = new int[n];
+    removed = new int[n];
+    forbidden = new int[n];
+    backReached = new int[n];
+    backQueue = new int[n];
+  }
+
+  /** Returns the graph of the queries. */
+  public CSRGraph<V,Integer> getGraph() { return graph; }
+
+  /** Returns the length of a shortest path from vertex id u to the destination, or -1 if there is none. */
+  public int distance(int u) { return toDst[u] == UNREACHABLE ? -1 : toDst[u]; }
+
+  /**
+   * Returns up to k loopless paths from vertex id src to the destination, shortest first.
+   * The list is shorter than k if there are fewer such paths, and empty if there is none.
+   * Each result also reports the vertices settled by the spur search that found it.
+   */
+  public PositionalList<PathResult<V>> paths(int src, int k) {
+    PositionalList<PathResult<V>> result = new LinkedPositionalList<>();
+    if (k <= 0 || toDst[src] == UNREACHABLE) return result;
+    Prefix accepted = new Prefix(src);
+    HeapPriorityQueue<Long,Candidate> candidates = new HeapPriorityQueue<>();
+    Set<Candidate> known = new HashSet<>();   // candidate and accepted paths, to skip duplicates
+
+    int[] first = treePath(src);
+    Candidate current = new Candidate(first, toDst[src], 0, 0);
+    known.add(current);
+    while (true) {
+      result.addLast(toResult(current));
+      if (result.size() == k) break;
+      // insert the accepted path into the prefix tree, remembering the node of each prefix
+      int len = current.nodes.length;
+      Prefix[] prefix = new Prefix[len];
+      prefix[0] = accepted;
+      for (int i = 1; i < len; i++)
+        prefix[i] = prefix[i - 1].childFor(current.nodes[i]);
+
+      long rootCost = 0;
+      for (int i = 0; i < len - 1; i++) {
+        if (i >= current.deviation) {
+          int[] spurPath = spurPath(current.nodes, i, prefix[i]);
+          if (spurPath != null) {
+            int[] nodes = new int[i + spurPath.length];
+            System.arraycopy(current.nodes, 0, nodes, 0, i);
+            System.arraycopy(spurPath, 0, nodes, i, spurPath.length);
+            long cost = rootCost + d[dst];
+            Candidate c = new Candidate(nodes, cost, i, settled);
+            if (known.add(c))
+              candidates.insert(cost, c);
+          }
+        }
+        rootCost += weight(current.nodes[i], current.nodes[i + 1]);
+      }
+      if (candidates.isEmpty()) break;
+      current = candidates.removeMin().getValue();
+    }
+    return result;
+  }
+
+  /**
+   * Returns a shortest path to dst from the spur node root[i] that avoids root[0..i-1]
+   * and the first hops already taken by accepted paths from this prefix, leaving its
+   * length in d[dst] and the vertices settled to find it in settled; null if there is none.
+   */
+  private int[] spurPath(int[] root, int i, Prefix taken) {
+    int spur = root[i];
+    int block = ++stamp;
+    for (int j = 0; j < i; j++)                // the root path may not be revisited
+      removed[root[j]] = block;
+    for (Prefix c = taken.child; c != null; c = c.sibling)
+      forbidden[c.vertex] = block;
+    settled = 0;
+    // the tree path from spur is optimal if it is still allowed
+    int first = next[spur];
+    if (first >= 0 && forbidden[first] != block) {
+      boolean free = true;
+      for (int w = first; w != dst && free; w = next[w])
+        free = removed[w] != block;
+      if (free) {
+        d[dst] = toDst[spur];
+        return treePath(spur);
+      }
+    }
+    // otherwise run A* guided by the exact distances of the unrestricted graph, together with
+    // a breadth-first search back from dst that proves early when dst cannot be reached
+    int search = block;
+    int head = 0, tail = 0;
+    boolean backward = true;                   // false once the backward search has met spur
+    backReached[dst] = search;
+    backQueue[tail++] = dst;
+    pq.clear();
+    d[spur] = 0;
+    parent[spur] = spur;
+    reached[spur] = search;
+    pq.insert(spur, toDst[spur]);
+    boolean found = false;
+    while (!pq.isEmpty()) {
+      if (backward) {                          // one backward step per forward step
+        if (head == tail) break;               // everything that reaches dst was seen: not spur
+        int v = backQueue[head++];
+        for (int k = graph.firstInArc(v); k < graph.endInArc(v) && backward; k++) {
+          int u = graph.inArcSource(k);
+          if (backReached[u] == search || removed[u] == block) continue;
+          if (u == spur && forbidden[v] == block) continue;
+          backReached[u] = search;
+          backQueue[tail++] = u;
+          backward = u != spur;                // a path exists; A* alone will find it
+        }
+      }
+      int u = pq.removeMin();
+      settled++;
+      if (u == dst) {
+        found = true;
+        break;
+      }
+      done[u] = search;
+      for (int k = graph.firstArc(u); k < graph.endArc(u); k++) {
+        int v = graph.arcTarget(k);
+        if (removed[v] == block || toDst[v] == UNREACHABLE || done[v] == search) continue;
+        if (u == spur && forbidden[v] == block) continue;
+        long dv = (long) d[u] + graph.arcWeight(k);
+        if (reached[v] != search || dv < d[v]) {
+          reached[v] = search;
+          d[v] = (int) dv;
+          parent[v] = u;
+          pq.insertOrDecrease(v, (int) Math.min(dv + toDst[v], UNREACHABLE));
+        }
+      }
+    }
+    pq.clear();
+    if (!found) return null;
+    int hops = 0;
+    for (int w = dst; w != spur; w = parent[w])
+      hops++;
+    int[] path = new int[hops + 1];
+    for (int w = dst, j = hops; j >= 0; w = parent[w], j--)
+      path[j] = w;
+    return path;
+  }
+
+  /** Returns the vertices of the reverse-tree path from u to dst. */
+  private int[] treePath(int u) {
+    int hops = 0;
+    for (int w = u; w != dst; w = next[w])
+      hops++;
+    int[] path = new int[hops + 1];
+    for (int w = u, j = 0; j < path.length; w = next[w], j++)
+      path[j] = w;
+    return path;
+  }
+
+  /** Returns the lightest weight of an arc from u to v. */
+  private int weight(int u, int v) {
+    int best = UNREACHABLE;
+    for (int k = graph.firstArc(u); k < graph.endArc(u); k++)
+      if (graph.arcTarget(k) == v)
+        best = Math.min(best, graph.arcWeight(k));
+    return best;
+  }
+
+  /** Converts a candidate into a result with the vertices of the graph. */
+  private PathResult<V> toResult(Candidate c) {
+    PositionalList<Vertex<V>> path = new LinkedPositionalList<>();
+    for (int v : c.nodes)
+      path.addLast(graph.vertexAt(v));
+    return new PathResult<>(path, (int) Math.min(c.cost, Integer.MAX_VALUE), c.settled);
+  }
+}
@@ -0,0 +1,116 @@
+package net.datastructures;
+
+/**
+ * A bounded map that evicts its least recently used entry when full.
+ *
+ * Entries are kept in a positional list ordered from most to least recently used,
+ * and a hash map locates the position of each key, so get and put run in O(1)
+ * expected time. The cache counts hits, misses and evictions so that its capacity
+ * can be tuned from observed behavior.
+ */
+public class LRUCache<K,V> {
+  //---------------- nested Node class ----------------
+  private static class Node<K,V> {
+    private final K key;
+    private V value;
+    Node(K k, V v) { key = k; value = v; }
+  } //----------- end of nested Node class -----------
+
+  private int capacity;
+  private final PositionalList<Node<K,V>> recency = new LinkedPositionalList<>();   // most recent first
+  private final Map<K,Position<Node<K,V>>> index = new ProbeHashMap<>();
+  private long hits, misses, evictions;
+
+  /**
+   * Creates an empty cache holding at most capacity entries.
+   * @throws IllegalArgumentException if capacity is negative
+   */
+  public LRUCache(int capacity) {
+    setCapacity(capacity);
+  }
+
+  /** Returns the number of entries in the cache. */
+  public int size() { return index.size(); }
+
+  /** Returns the maximum number of entries. */
+  public int getCapacity() { return capacity; }
+
+  /**
+   * Changes the maximum number of entries, evicting the least recently used ones if needed.
+   * A capacity of zero disables the cache.
+   * @throws IllegalArgumentException if capacity is negative
+   */
+  public void setCapacity(int capacity) {
+    if (capacity < 0) throw new IllegalArgumentException("Capacity cannot be negative");
+    this.capacity = capacity;
+    while (index.size() > capacity)
+      evictOldest();
+  }
+
+  /**
+   * Returns the value associated with key k (marking it as most recently used),
+   * or null if it is not cached. Every call counts as a hit or a miss.
+   */
+  public V get(K k) {
+    Position<Node<K,V>> p = index.get(k);
+    if (p == null) {
+      misses++;
+      return null;
+    }
+    hits++;
+    Node<K,V> node = recency.remove(p);
+    index.put(k, recency.addFirst(node));   // move to the front
+    return node.value;
+  }
+
+  /**
+   * Associates value v with key k as the most recently used entry, evicting the
+   * least recently used entry if the cache is full.
+   */
+  public void put(K k, V v) {
+    if (capacity == 0) return;
+    Position<Node<K,V>> p = index.get(k);
+    Node<K,V> node;
+    if (p != null) {
+      node = recency.remove(p);
+      node.value = v;
+    } else {
+      node = new Node<>(k, v);
+      if (index.size() == capacity)
+        evictOldest();
+    }
+    index.put(k, recency.addFirst(node));
+  }
+
+  /** Removes every entry; the counters are kept. */
+  public void clear() {
+    while (!recency.isEmpty())
+      index.remove(recency.remove(recency.first()).key);
+  }
+
+  /** Returns the number of lookups that found their key. */
+  public long getHits() { return hits; }
+
+  /** Returns the number of lookups that did not find their key. */
+  public long getMisses() { return misses; }
+
+  /** Returns the number of entries evicted to make room for new ones. */
+  public long getEvictions() { return evictions; }
+
+  /** Returns the fraction of lookups that were hits, or 0 if there were none. */
+  public double hitRatio() {
+    long total = hits + misses;
+    return (total == 0) ? 0 : (double) hits / total;
+  }
+
+  /** Resets the hit, miss and eviction counters. */
+  public void resetStatistics() {
+    hits = misses = evictions = 0;
+  }
+
+  /** Removes the least recently used entry. */
+  private void evictOldest() {
+    index.remove(recency.remove(recency.last()).key);
+    evictions++;
+  }
+}
@@ -0,0 +1,83 @@
+package net.datastructures;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * Precomputed landmark distances for ALT (A*, landmarks, triangle inequality) searches
+ * on an undirected CSRGraph.
+ *
+ * For every landmark L the shortest-path distance d(L,v) to each vertex v is stored.
+ * By the triangle inequality, |d(L,t) - d(L,v)| never exceeds the distance from v
+ * to t, so the maximum over all landmarks is an admissible and consistent lower bound
+ * that A* can use to steer the search towards the destination.
+ */
+public class Landmarks<V> {
+  private final CSRGraph<V,Integer> graph;
+  private final int[] landmarks;
+  private final int[][] dist;           // dist[j][v] = d(landmarks[j], v)
+
+  /**
+   * Computes the distance arrays of the given landmarks.
+   *
+   * @param g undirected CSRGraph with non-negative weights
+   * @param landmarks ids of the landmark vertices
+   * @throws IllegalArgumentException if g is directed
+   */
+  public Landmarks(CSRGraph<V,Integer> g, int[] landmarks) {
+    if (g.isDirected())
+      throw new IllegalArgumentException("Landmarks require an undirected graph");
+    this.graph = g;
+    this.landmarks = landmarks.clone();
+    this.dist = new int[landmarks.length][];
+    for (int j = 0; j < landmarks.length; j++)
+      dist[j] = GraphAlgorithms.shortestPathLengths(g, landmarks[j], null);
+  }
+
+  /**
+   * Chooses up to k landmarks among the eligible vertices, preferring those of highest degree.
+   *
+   * @param g the graph
+   * @param k maximum number of landmarks
+   * @param eligible predicate on vertex elements deciding which vertices may be landmarks
+   * @return ids of the chosen landmarks, by decreasing degree
+   */
+  public static <V> int[] byDegree(CSRGraph<V,?> g, int k, Predicate<V> eligible) {
+    int n = g.numVertices();
+    long[] order = new long[n];         // packs (-degree, id) so that sorting puts high degrees first
+    int count = 0;
+    for (int v = 0; v < n; v++)
+      if (eligible.test(g.vertexAt(v).getElement()))
+        order[count++] = ((long) -(g.endArc(v) - g.firstArc(v)) << 32) | v;
+    Arrays.sort(order, 0, count);
+    int[] chosen = new int[Math.min(k, count)];
+    for (int j = 0; j < chosen.length; j++)
+      chosen[j] = (int) order[j];
+    return chosen;
+  }
+
+  /** Returns the graph on which the distances were computed. */
+  public CSRGraph<V,Integer> getGraph() { return graph; }
+
+  /** Returns the number of landmarks. */
+  public int size() { return landmarks.length; }
+
+  /** Returns the id of the j-th landmark. */
+  public int landmark(int j) { return landmarks[j]; }
+
+  /**
+   * Returns a lower bound on the distance between vertex ids v and t.
+   * Landmarks that cannot reach both vertices are ignored.
+   */
+  public int lowerBound(int v, int t) {
+    int best = 0;
+    for (int[] d : dist) {
+      int dv = d[v], dt = d[t];
+      if (dv != Integer.MAX_VALUE && dt != Integer.MAX_VALUE) {
+        int bound = Math.abs(dt - dv);
+        if (bound > best) best = bound;
+      }
+    }
+    return best;
+  }
+}
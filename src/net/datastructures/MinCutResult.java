@@ -0,0 +1,38 @@
+package net.datastructures;
+
+/**
+ * The outcome of a maximum-flow computation read as a minimum cut: the flow value,
+ * the vertices on the source side of the cut, and the edges crossing it. Every
+ * crossing edge is saturated, and their capacities add up to the flow value.
+ */
+public class MinCutResult<V> {
+  private final long flow;
+  private final PositionalList<Vertex<V>> sourceSide;
+  private final PositionalList<Edge<Integer>> cutEdges;
+
+  /**
+   * Creates a result.
+   * @param flow       the value of the maximum flow
+   * @param sourceSide the vertices on the source side of the cut
+   * @param cutEdges   the edges leading from the source side to the sink side
+   */
+  public MinCutResult(long flow, PositionalList<Vertex<V>> sourceSide, PositionalList<Edge<Integer>> cutEdges) {
+    this.flow = flow;
+    this.sourceSide = sourceSide;
+    this.cutEdges = cutEdges;
+  }
+
+  /** Returns the value of the maximum flow, which equals the capacity of the cut. */
+  public long getFlow() { return flow; }
+
+  /** Returns the vertices on the source side of the cut. */
+  public PositionalList<Vertex<V>> getSourceSide() { return sourceSide; }
+
+  /** Returns the saturated edges that form the cut. */
+  public PositionalList<Edge<Integer>> getCutEdges() { return cutEdges; }
+
+  /** Returns string representation (for debugging only) */
+  public String toString() {
+    return "MinCutResult(flow=" + flow + ", sourceSide=" + sourceSide.size() + ", cutEdges=" + cutEdges.size() + ")";
+  }
+}
@@ -0,0 +1,173 @@
+package net.datastructures;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A map from objects to primitive int values.
+ *
+ * Unlike a Map with Integer values, reading, writing or incrementing a value never
+ * boxes it, so the map produces no garbage once its table is large enough. Keys are
+ * stored by open addressing with linear probing in a power-of-two table, and removals
+ * shift the rest of the cluster back instead of leaving defunct markers. The table
+ * doubles when it becomes three quarters full. Null keys are not allowed.
+ */
+public class ObjIntMap<K> {
+  private Object[] keys;           // keys, or null for empty slots
+  private int[] values;
+  private int mask;                // table length minus one
+  private int n = 0;               // number of entries
+  private int modCount = 0;        // structural modifications, for fail-fast iteration
+
+  /** Creates an empty map with room for 12 entries. */
+  public ObjIntMap() { this(12); }
+
+  /** Creates an empty map that can hold the given number of entries without resizing. */
+  public ObjIntMap(int expected) {
+    int length = 2;
+    while ((length >> 2) * 3 < expected)
+      length <<= 1;
+    createTable(length);
+  }
+
+  private void createTable(int length) {
+    keys = new Object[length];
+    values = new int[length];
+    mask = length - 1;
+  }
+
+  /** Returns the number of entries in the map. */
+  public int size() { return n; }
+
+  /** Tests whether the map is empty. */
+  public boolean isEmpty() { return n == 0; }
+
+  /** Returns true if the map has an entry for key k. */
+  public boolean containsKey(K k) { return keys[findSlot(k)] != null; }
+
+  /** Returns the value associated with key k, or absent if there is no such entry. */
+  public int get(K k, int absent) {
+    int j = findSlot(k);
+    return keys[j] == null ? absent : values[j];
+  }
+
+  /** Associates value v with key k, replacing any previous value. */
+  public void put(K k, int v) {
+    int j = findSlot(k);
+    if (keys[j] == null)
+      j = insert(j, k);
+    values[j] = v;
+  }
+
+  /**
+   * Adds delta to the value associated with key k, taking it as 0 if k has no entry,
+   * and returns the new value.
+   */
+  public int addTo(K k, int delta) {
+    int j = findSlot(k);
+    if (keys[j] == null) {
+      j = insert(j, k);
+      values[j] = 0;
+    }
+    return values[j] += delta;
+  }
+
+  /** Removes the entry with key k, if present; returns true if there was one. */
+  public boolean remove(K k) {
+    int j = findSlot(k);
+    if (keys[j] == null) return false;
+    int next = (j + 1) & mask;
+    while (keys[next] != null) {               // shift back the entries that can move towards home
+      int home = hash(keys[next]) & mask;
+      if (((next - home) & mask) >= ((next - j) & mask)) {
+        keys[j] = keys[next];
+        values[j] = values[next];
+        j = next;
+      }
+      next = (next + 1) & mask;
+    }
+    keys[j] = null;
+    n--;
+    modCount++;
+    return true;
+  }
+
+  /** Removes all entries, keeping the current table. */
+  public void clear() {
+    Arrays.fill(keys, null);
+    n = 0;
+    modCount++;
+  }
+
+  //---------------- nested KeyIterator class ----------------
+  /** Walks the table directly, failing if the map is structurally modified meanwhile. */
+  private class KeyIterator implements Iterator<K> {
+    private final Object[] slots = keys;           // the table being walked
+    private final int expected = modCount;
+    private int j = advance(0);                    // next occupied slot
+    private int advance(int h) {
+      while (h < slots.length && slots[h] == null) h++;
+      return h;
+    }
+    public boolean hasNext() { return j < slots.length; }
+    @SuppressWarnings({"unchecked"})
+    public K next() {
+      if (modCount != expected) throw new ConcurrentModificationException();
+      if (j == slots.length) throw new NoSuchElementException("No further entries");
+      K answer = (K) slots[j];
+      j = advance(j + 1);
+      return answer;
+    }
+    public void remove() { throw new UnsupportedOperationException("remove not supported"); }
+  } //----------- end of nested KeyIterator class -----------
+
+  //---------------- nested KeyIterable class ----------------
+  private class KeyIterable implements Iterable<K> {
+    public Iterator<K> iterator() { return new KeyIterator(); }
+  } //----------- end of nested KeyIterable class -----------
+
+  /** Returns an iterable view of the keys of the map. */
+  public Iterable<K> keySet() { return new KeyIterable(); }
+
+  // private utilities
+  /** Spreads the bits of the key's hash code so that the low bits used by the mask are well mixed. */
+  private static int hash(Object key) {
+    int h = key.hashCode() * 0x9E3779B9;        // Fibonacci hashing
+    return h ^ (h >>> 16);
+  }
+
+  /** Returns the slot holding key k, or the empty slot where it would be stored. */
+  private int findSlot(Object k) {
+    int j = hash(k) & mask;
+    while (keys[j] != null && !keys[j].equals(k))
+      j = (j + 1) & mask;
+    return j;
+  }
+
+  /** Stores key k in empty slot j, growing the table if needed; returns the slot of k. */
+  private int insert(int j, K k) {
+    n++;
+    modCount++;
+    if (n > (keys.length >> 2) * 3) {          // keep load factor <= 3/4
+      resize(2 * keys.length);
+      j = findSlot(k);
+    }
+    keys[j] = k;
+    return j;
+  }
+
+  /** Updates the size of the table and reinserts all entries. */
+  private void resize(int newLength) {
+    Object[] oldKeys = keys;
+    int[] oldValues = values;
+    createTable(newLength);
+    for (int i = 0; i < oldKeys.length; i++)
+      if (oldKeys[i] != null) {
+        int j = findSlot(oldKeys[i]);
+        keys[j] = oldKeys[i];
+        values[j] = oldValues[i];
+      }
+  }
+}
@@ -22,18 +22,23 @@
  */
 package net.datastructures;
 
-/** A Union-Find structure for maintaining disjoint sets. */
+import java.util.ArrayList;
+
+/**
+ * A Union-Find structure for maintaining disjoint sets.
+ *
+ * This is a thin adapter over IntUnionFind: each cluster position only stores its
+ * element and a dense id, and finds and unions run on the underlying int arrays.
+ */
 public class Partition<E> {
 
   //--------------- nested Locator class -------------
   private class Locator<E> implements Position<E> {
     public E element;
-    public int size;
-    public Locator<E> parent;
-    public Locator(E elem) {
+    public final int id;      // id of the element in the underlying IntUnionFind
+    public Locator(E elem, int id) {
       element = elem;
-      size = 1;
-      parent = this;          // convention for a cluster leader
+      this.id = id;
     }
 
     public E getElement() { return element; }
@@ -43,6 +48,9 @@ public class Partition<E> {
     }
   } //--------- end of nested Locator class ---------
 
+  private final IntUnionFind sets = new IntUnionFind();
+  private final ArrayList<Locator<E>> locators = new ArrayList<>();   // locator of each id
+
   /** Validates a Position and returns it cast as a Locator. */
   private Locator<E> validate(Position<E> pos) {
     if (!(pos instanceof Locator)) throw new IllegalArgumentException("Invalid position");
@@ -54,7 +62,9 @@ public class Partition<E> {
 
   /** Makes a new cluster containing element e and returns its position. */
   public Position<E> makeCluster(E e) {
-    return new Locator<E>(e);
+    Locator<E> loc = new Locator<>(e, sets.makeSet());
+    locators.add(loc);
+    return loc;
   }
 
   /**
@@ -62,23 +72,11 @@ public class Partition<E> {
    * and returns the Position of the cluster's leader.
    */
   public Position<E> find(Position<E> p) {
-    Locator<E> loc = validate(p);
-    if (loc.parent != loc)
-      loc.parent = (Locator<E>) find(loc.parent);   // overwrite parent after recursion
-    return loc.parent;
+    return locators.get(sets.find(validate(p).id));
   }
 
   /** Merges the clusters containing elements with positions p and q (if distinct). */
   public void union(Position<E> p, Position<E> q) {
-    Locator<E> a = (Locator<E>) find(p);
-    Locator<E> b = (Locator<E>) find(q);
-    if (a != b)
-      if (a.size > b.size) {
-        b.parent = a;
-        a.size += b.size;
-      } else {
-        a.parent = b;
-        b.size += a.size;
-      }
+    sets.union(validate(p).id, validate(q).id);
   }
 }
@@ -0,0 +1,37 @@
+package net.datastructures;
+
+/**
+ * The outcome of a point-to-point path search: the vertices along the path,
+ * its total weight, and how many vertices the search had to settle to find it.
+ */
+public class PathResult<V> {
+  private final PositionalList<Vertex<V>> path;
+  private final int length;
+  private final int settled;
+
+  /**
+   * Creates a result.
+   * @param path    the vertices of the path from source to destination
+   * @param length  the total weight of the path
+   * @param settled the number of vertices settled by the search
+   */
+  public PathResult(PositionalList<Vertex<V>> path, int length, int settled) {
+    this.path = path;
+    this.length = length;
+    this.settled = settled;
+  }
+
+  /** Returns the vertices of the path, from source to destination. */
+  public PositionalList<Vertex<V>> getPath() { return path; }
+
+  /** Returns the total weight of the path. */
+  public int getLength() { return length; }
+
+  /** Returns the number of vertices settled by the search that produced the path. */
+  public int getSettled() { return settled; }
+
+  /** Returns string representation (for debugging only) */
+  public String toString() {
+    return "PathResult(length=" + length + ", hops=" + (path.size() - 1) + ", settled=" + settled + ")";
+  }
+}
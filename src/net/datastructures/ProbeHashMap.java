@@ -22,7 +22,9 @@
  */
 package net.datastructures;
 
-import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /*
  * Map implementation using hash table with linear probing.
@@ -131,16 +133,38 @@ public class ProbeHashMap<K,V> extends AbstractHashMap<K,V> {
     return answer;
   }
 
+  //---------------- nested EntryIterator class ----------------
+  /** Walks the table directly, failing if the map is structurally modified meanwhile. */
+  private class EntryIterator implements Iterator<Entry<K,V>> {
+    private final MapEntry<K,V>[] slots = table;   // the table being walked
+    private final int expected = modCount;
+    private int j = advance(0);                    // next occupied slot
+    private int advance(int h) {
+      while (h < slots.length && (slots[h] == null || slots[h] == DEFUNCT)) h++;
+      return h;
+    }
+    public boolean hasNext() { return j < slots.length; }
+    public Entry<K,V> next() {
+      if (modCount != expected) throw new ConcurrentModificationException();
+      if (j == slots.length) throw new NoSuchElementException("No further entries");
+      Entry<K,V> answer = slots[j];
+      j = advance(j + 1);
+      return answer;
+    }
+    public void remove() { throw new UnsupportedOperationException("remove not supported"); }
+  } //----------- end of nested EntryIterator class -----------
+
+  //---------------- nested EntryIterable class ----------------
+  private class EntryIterable implements Iterable<Entry<K,V>> {
+    public Iterator<Entry<K,V>> iterator() { return new EntryIterator(); }
+  } //----------- end of nested EntryIterable class -----------
+
   /**
    * Returns an iterable collection of all key-value entries of the map.
+   * It is a view of the table, so no entries are copied.
    *
    * @return iterable collection of the map's entries
    */
   @Override
-  public Iterable<Entry<K,V>> entrySet() {
-    ArrayList<Entry<K,V>> buffer = new ArrayList<>();
-    for (int h=0; h < capacity; h++)
-      if (!isAvailable(h)) buffer.add(table[h]);
-    return buffer;
-  }
+  public Iterable<Entry<K,V>> entrySet() { return new EntryIterable(); }
 }
@@ -0,0 +1,229 @@
+package net.datastructures;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Map implementation using open addressing with Robin Hood hashing.
+ *
+ * The table length is always a power of two, so a slot is found by mixing the bits
+ * of the key's hash code and masking them, with no division. Collisions are resolved
+ * by linear probing, but an entry that has travelled further from its home slot takes
+ * the place of one that has travelled less, which keeps every probe sequence short and
+ * lets an unsuccessful search stop as soon as it meets an entry closer to home than the
+ * searched key would be. Removals shift the following entries of the cluster back one
+ * slot instead of leaving a defunct marker, so deletions never lengthen later searches.
+ *
+ * The table doubles when it becomes three quarters full.
+ */
+public class RobinHoodHashMap<K,V> extends AbstractMap<K,V> {
+  private MapEntry<K,V>[] table;   // entries, or null for empty slots
+  private int[] hashes;            // mixed hash code of the entry in each slot
+  private int mask;                // table length minus one
+  private int n = 0;               // number of entries
+
+  /** Creates a hash table with capacity 16. */
+  public RobinHoodHashMap() { this(16); }
+
+  /** Creates a hash table with the smallest power-of-two capacity of at least cap (and at least 2). */
+  public RobinHoodHashMap(int cap) {
+    int length = 2;
+    while (length < cap)
+      length <<= 1;
+    createTable(length);
+  }
+
+  @SuppressWarnings({"unchecked"})
+  private void createTable(int length) {
+    table = (MapEntry<K,V>[]) new MapEntry[length];   // safe cast
+    hashes = new int[length];
+    mask = length - 1;
+  }
+
+  /**
+   * Returns the number of entries in the map.
+   * @return number of entries in the map
+   */
+  @Override
+  public int size() { return n; }
+
+  /**
+   * Returns the value associated with the specified key, or null if no such entry exists.
+   * @param key  the key whose associated value is to be returned
+   * @return the associated value, or null if no such entry exists
+   */
+  @Override
+  public V get(K key) {
+    int j = findSlot(hash(key), key);
+    return j < 0 ? null : table[j].getValue();
+  }
+
+  /**
+   * Associates the given value with the given key. If an entry with
+   * the key was already in the map, this replaced the previous value
+   * with the new one and returns the old value. Otherwise, a new
+   * entry is added and null is returned.
+   * @param key    key with which the specified value is to be associated
+   * @param value  value to be associated with the specified key
+   * @return the previous value associated with the key (or null, if no such entry)
+   */
+  @Override
+  public V put(K key, V value) {
+    int h = hash(key);
+    int j = findSlot(h, key);
+    if (j >= 0)                                 // this key has an existing entry
+      return table[j].setValue(value);
+    if (n + 1 > (table.length >> 2) * 3) {      // keep load factor <= 3/4
+      resize(2 * table.length);
+      j = findSlot(h, key);
+    }
+    place(-(j + 1), h, new MapEntry<>(key, value));
+    n++;
+    modCount++;
+    return null;
+  }
+
+  /**
+   * Removes the entry with the specified key, if present, and returns
+   * its associated value. Otherwise does nothing and returns null.
+   * @param key  the key whose entry is to be removed from the map
+   * @return the previous value associated with the removed key, or null if no such entry exists
+   */
+  @Override
+  public V remove(K key) {
+    int j = findSlot(hash(key), key);
+    if (j < 0) return null;                     // nothing to remove
+    V answer = table[j].getValue();
+    int next = (j + 1) & mask;
+    while (table[next] != null && distance(next) > 0) {   // shift the rest of the cluster back
+      table[j] = table[next];
+      hashes[j] = hashes[next];
+      j = next;
+      next = (next + 1) & mask;
+    }
+    table[j] = null;
+    n--;
+    modCount++;
+    return answer;
+  }
+
+  //---------------- nested TableIterator class ----------------
+  /**
+   * Walks the table directly, returning keys (part 0), values (part 1) or entries
+   * (part 2), and failing if the map is structurally modified meanwhile.
+   */
+  private class TableIterator<T> implements Iterator<T> {
+    private final MapEntry<K,V>[] slots = table;   // the table being walked
+    private final int expected = modCount;
+    private final int part;
+    private int j;                                 // next occupied slot
+    TableIterator(int part) {
+      this.part = part;
+      j = advance(0);
+    }
+    private int advance(int h) {
+      while (h < slots.length && slots[h] == null) h++;
+      return h;
+    }
+    public boolean hasNext() { return j < slots.length; }
+    @SuppressWarnings({"unchecked"})
+    public T next() {
+      if (modCount != expected) throw new ConcurrentModificationException();
+      if (j == slots.length) throw new NoSuchElementException("No further entries");
+      MapEntry<K,V> e = slots[j];
+      j = advance(j + 1);
+      return (T) (part == 0 ? e.getKey() : part == 1 ? e.getValue() : e);
+    }
+    public void remove() { throw new UnsupportedOperationException("remove not supported"); }
+  } //----------- end of nested TableIterator class -----------
+
+  //---------------- nested TableIterable class ----------------
+  private class TableIterable<T> implements Iterable<T> {
+    private final int part;
+    TableIterable(int part) { this.part = part; }
+    public Iterator<T> iterator() { return new TableIterator<>(part); }
+  } //----------- end of nested TableIterable class -----------
+
+  /**
+   * Returns an iterable collection of the keys contained in the map.
+   * It is a view of the table, so no keys are copied.
+   *
+   * @return iterable collection of the map's keys
+   */
+  @Override
+  public Iterable<K> keySet() { return new TableIterable<>(0); }
+
+  /**
+   * Returns an iterable collection of the values contained in the map.
+   * It is a view of the table, so no values are copied.
+   *
+   * @return iterable collection of the map's values
+   */
+  @Override
+  public Iterable<V> values() { return new TableIterable<>(1); }
+
+  /**
+   * Returns an iterable collection of all key-value entries of the map.
+   * It is a view of the table, so no entries are copied.
+   *
+   * @return iterable collection of the map's entries
+   */
+  @Override
+  public Iterable<Entry<K,V>> entrySet() { return new TableIterable<>(2); }
+
+  // private utilities
+  /** Spreads the bits of the key's hash code so that the low bits used by the mask are well mixed. */
+  private static int hash(Object key) {
+    int h = key.hashCode() * 0x9E3779B9;        // Fibonacci hashing
+    return h ^ (h >>> 16);
+  }
+
+  /** Returns how far the entry in slot j is from its home slot. */
+  private int distance(int j) {
+    return (j - hashes[j]) & mask;
+  }
+
+  /**
+   * Searches for an entry with key equal to k (which is known to have hash value h),
+   * returning the index at which it was found, or -(a+1) where a is the slot where
+   * such an entry belongs: the first empty slot, or the first entry closer to its home.
+   */
+  private int findSlot(int h, K k) {
+    int j = h & mask;
+    for (int d = 0; ; d++) {
+      if (table[j] == null || distance(j) < d)  // k would have been stored by now
+        return -(j + 1);
+      if (hashes[j] == h && table[j].getKey().equals(k))
+        return j;                               // successful match
+      j = (j + 1) & mask;
+    }
+  }
+
+  /** Stores entry e with hash h at slot j, pushing the displaced entries one slot further. */
+  private void place(int j, int h, MapEntry<K,V> e) {
+    while (table[j] != null) {
+      MapEntry<K,V> displaced = table[j];
+      int dh = hashes[j];
+      table[j] = e;
+      hashes[j] = h;
+      e = displaced;
+      h = dh;
+      j = (j + 1) & mask;
+      while (table[j] != null && distance(j) >= ((j - h) & mask))   // the displaced entry keeps probing
+        j = (j + 1) & mask;
+    }
+    table[j] = e;
+    hashes[j] = h;
+  }
+
+  /** Updates the size of the hash table and reinserts all entries. */
+  private void resize(int newLength) {
+    MapEntry<K,V>[] old = table;
+    int[] oldHashes = hashes;
+    createTable(newLength);
+    for (int i = 0; i < old.length; i++)
+      if (old[i] != null)
+        place(-(findSlot(oldHashes[i], old[i].getKey()) + 1), oldHashes[i], old[i]);
+  }
+}
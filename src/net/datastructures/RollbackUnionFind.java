@@ -0,0 +1,122 @@
+package net.datastructures;
+
+import java.util.Arrays;
+
+/**
+ * A union-find structure over the ids 0..n-1 whose unions can be undone in
+ * reverse order.
+ *
+ * Finds never compress paths, so every union changes a fixed handful of array slots
+ * that are recorded on a stack and restored by undo. Union by rank keeps every tree
+ * of logarithmic height, so find, union and undo all run in O(log n) worst-case time.
+ * The elements of each set are also linked in a circular list, which unions splice
+ * and undo splits again in O(1), so a set can be listed in time proportional to its
+ * size.
+ */
+public class RollbackUnionFind {
+  private final int[] parent;
+  private final int[] rank;
+  private final int[] size;
+  private final int[] next;         // successor in the circular list of the element's set
+  private int sets;
+  private int[] history = new int[16];   // per union: 2*child+rankGrew, or -1 if nothing merged
+  private int operations;
+
+  /** Creates n singleton sets, one for each id in 0..n-1. */
+  public RollbackUnionFind(int n) {
+    parent = new int[n];
+    rank = new int[n];
+    size = new int[n];
+    next = new int[n];
+    for (int v = 0; v < n; v++) {
+      parent[v] = v;
+      size[v] = 1;
+      next[v] = v;
+    }
+    sets = n;
+  }
+
+  /** Returns the number of disjoint sets. */
+  public int numSets() { return sets; }
+
+  /** Returns the leader of the set containing v. */
+  public int find(int v) {
+    while (parent[v] != v)
+      v = parent[v];
+    return v;
+  }
+
+  /** Returns true if a and b are in the same set. */
+  public boolean connected(int a, int b) { return find(a) == find(b); }
+
+  /** Returns the number of elements in the set containing v. */
+  public int setSize(int v) { return size[find(v)]; }
+
+  /**
+   * Returns the element that follows v in the circular list of its set; starting
+   * from v and following next until v comes back visits the whole set once.
+   */
+  public int next(int v) { return next[v]; }
+
+  /**
+   * Merges the sets containing a and b. The call is recorded even if they were
+   * already in the same set, so every union is matched by exactly one undo.
+   * @return true if they were different sets
+   */
+  public boolean union(int a, int b) {
+    a = find(a);
+    b = find(b);
+    if (operations == history.length)
+      history = Arrays.copyOf(history, 2 * operations);
+    if (a == b) {
+      history[operations++] = -1;
+      return false;
+    }
+    if (rank[a] < rank[b]) {
+      int t = a;
+      a = b;
+      b = t;
+    }
+    boolean grew = rank[a] == rank[b];
+    parent[b] = a;
+    size[a] += size[b];
+    if (grew) rank[a]++;
+    splice(a, b);
+    sets--;
+    history[operations++] = 2 * b + (grew ? 1 : 0);
+    return true;
+  }
+
+  /** Returns the number of recorded unions, to be passed later to rollback. */
+  public int checkpoint() { return operations; }
+
+  /**
+   * Undoes the most recent union that has not been undone yet.
+   * @throws IllegalStateException if there is none
+   */
+  public void undo() {
+    if (operations == 0) throw new IllegalStateException("Nothing to undo");
+    int record = history[--operations];
+    if (record < 0) return;
+    int b = record >> 1;
+    int a = parent[b];
+    splice(a, b);                   // splicing the same two elements again splits the lists
+    if ((record & 1) == 1) rank[a]--;
+    size[a] -= size[b];
+    parent[b] = b;
+    sets++;
+  }
+
+  /** Undoes unions until only the first checkpoint of them remain. */
+  public void rollback(int checkpoint) {
+    while (operations > checkpoint)
+      undo();
+  }
+
+  /** Exchanges the successors of a and b, which joins their circular lists or splits a joined one. */
+  private void splice(int a, int b) {
+    int t = next[a];
+    next[a] = next[b];
+    next[b] = t;
+  }
+}
@@ -0,0 +1,97 @@
+package net.datastructures;
+
+/**
+ * The result of a single-source shortest-path computation: the distance to every
+ * reachable vertex together with the edge used to reach it, both recorded during
+ * the same run of Dijkstra's algorithm.
+ *
+ * Paths to any number of destinations can then be read without searching again.
+ * Distances and parent edges stay in the arrays of the search, indexed by the ids it
+ * gave to the reachable vertices; the map views are only built if asked for.
+ */
+public class ShortestPathTree<V> {
+  private final Graph<V,Integer> graph;
+  private final Vertex<V> source;
+  private final ObjIntMap<Vertex<V>> ids;      // dense id of each reachable vertex
+  private final Vertex<V>[] vertexOf;
+  private final int[] dist;
+  private final Edge<Integer>[] parent;
+  private Map<Vertex<V>,Integer> distances;    // built on first request
+  private Map<Vertex<V>,Edge<Integer>> parents;
+
+  /**
+   * Creates a tree from the arrays filled by a shortest-path search, indexed by the
+   * dense ids that the search gave to the reachable vertices.
+   * @param graph    the graph that was searched
+   * @param source   the source vertex
+   * @param ids      map from each reachable vertex to its id
+   * @param vertexOf vertexOf[id] is the vertex with that id
+   * @param dist     dist[id] is the distance from the source to that vertex
+   * @param parent   parent[id] is the edge reaching that vertex from its parent (null for source)
+   */
+  public ShortestPathTree(Graph<V,Integer> graph, Vertex<V> source, ObjIntMap<Vertex<V>> ids,
+                          Vertex<V>[] vertexOf, int[] dist, Edge<Integer>[] parent) {
+    this.graph = graph;
+    this.source = source;
+    this.ids = ids;
+    this.vertexOf = vertexOf;
+    this.dist = dist;
+    this.parent = parent;
+  }
+
+  /** Returns the source vertex of the tree. */
+  public Vertex<V> getSource() { return source; }
+
+  /** Returns true if v is reachable from the source. */
+  public boolean isReachable(Vertex<V> v) { return ids.containsKey(v); }
+
+  /** Returns the distance from the source to v, or null if v is unreachable. */
+  public Integer distance(Vertex<V> v) {
+    int id = ids.get(v, -1);
+    return id < 0 ? null : dist[id];
+  }
+
+  /** Returns the edge used to reach v from its parent, or null for the source and unreachable vertices. */
+  public Edge<Integer> parentEdge(Vertex<V> v) {
+    int id = ids.get(v, -1);
+    return id < 0 ? null : parent[id];
+  }
+
+  /** Returns the map from each reachable vertex to its distance from the source. It is built in O(V) on first use. */
+  public Map<Vertex<V>,Integer> distances() {
+    if (distances == null) {
+      distances = new RobinHoodHashMap<>(2 * ids.size());
+      for (int id = 0; id < ids.size(); id++)
+        distances.put(vertexOf[id], dist[id]);
+    }
+    return distances;
+  }
+
+  /** Returns the map from each reachable vertex (other than the source) to its parent edge. It is built in O(V) on first use. */
+  public Map<Vertex<V>,Edge<Integer>> parentEdges() {
+    if (parents == null) {
+      parents = new RobinHoodHashMap<>(2 * ids.size());
+      for (int id = 0; id < ids.size(); id++)
+        if (parent[id] != null)
+          parents.put(vertexOf[id], parent[id]);
+    }
+    return parents;
+  }
+
+  /**
+   * Returns the list of vertices along the shortest path from the source to v.
+   * @throws IllegalArgumentException if v is not reachable from the source
+   */
+  public PositionalList<Vertex<V>> pathTo(Vertex<V> v) throws IllegalArgumentException {
+    if (!isReachable(v))
+      throw new IllegalArgumentException("No hay camino desde " + source.getElement() + " a " + v.getElement());
+    PositionalList<Vertex<V>> path = new LinkedPositionalList<>();
+    Vertex<V> walk = v;
+    while (walk != source) {                 // construct the path from back to front
+      path.addFirst(walk);
+      walk = graph.opposite(walk, parent[ids.get(walk, -1)]);
+    }
+    path.addFirst(source);
+    return path;
+  }
+}
@@ -55,6 +55,9 @@ public class Cordinador {
     {
         try {
             red = new Logica(equipos, conexiones);
+            red.configurarCache(CargarParametros.getCapacidadCache());
+            red.configurarMotorMST(Logica.MotorMST.valueOf(CargarParametros.getMotorMST()));
+            red.configurarLandmarks(CargarParametros.getLandmarks());
         } catch (Exception e) {
             System.err.println("Error al cargar el grafo: " + e.getMessage());
             e.printStackTrace();
@@ -149,9 +152,9 @@ public class Cordinador {
      * Solicita IP de origen y destino, valida que sean diferentes y muestra el resultado.
      *
      * Complejidad Temporal:
-     * - BFS: O(V + E), para encontrar caminos de aumento.
-     * - Edmonds-Karp: O(VE²), donde V es el número de vértices y E el número de aristas.
-     * - calcularFlujoMaximo: O(VE²), dominado por Edmonds-Karp.
+     * - BFS: O(V + E), para construir cada grafo de niveles.
+     * - Dinic: O(V²E), donde V es el número de vértices y E el número de aristas.
+     * - calcularFlujoMaximo: O(V²E), dominado por Dinic (O(1) si el par está en cache).
      */
     private void ejecutarMaxFlow() {
         try {
@@ -13,10 +13,16 @@ public class CargarParametros {
     private static String archivoComputadoras;
     private static String archivoRouters;
     private static String archivoConexiones;
+    private static int capacidadCache;
+    private static String motorMST;
+    private static int landmarks;
 
     /**
      * Carga las rutas de los archivos desde el archivo de propiedades "config.properties".
      * Asigna las rutas a las variables estáticas para su posterior uso.
+     * La capacidad de las caches de consultas es opcional y vale 1024 si no se indica;
+     * el motor del árbol de expansión mínima también es opcional y vale INCREMENTAL, y la cantidad
+     * de landmarks de traceroute vale 4.
      *
      * @throws IOException Si el archivo de propiedades no se encuentra o no puede ser leído.
      * Complejidad Temporal: O(1), lectura de archivo de configuración de tamaño constante.
@@ -28,6 +34,9 @@ public class CargarParametros {
             archivoComputadoras = prop.getProperty("Computadoras");
             archivoRouters = prop.getProperty("Routers");
             archivoConexiones = prop.getProperty("Conexiones");
+            capacidadCache = Integer.parseInt(prop.getProperty("CapacidadCache", "1024").trim());
+            motorMST = prop.getProperty("MotorMST", "INCREMENTAL").trim().toUpperCase();
+            landmarks = Integer.parseInt(prop.getProperty("Landmarks", "4").trim());
         }
     }
 
@@ -60,4 +69,34 @@ public class CargarParametros {
     public static String getArchivoConexiones() {
         return archivoConexiones;
     }
+
+    /**
+     * Obtiene la capacidad de las caches de traceroute y flujo máximo.
+     *
+     * @return Cantidad máxima de resultados guardados por cada cache.
+     * Complejidad Temporal: O(1).
+     */
+    public static int getCapacidadCache() {
+        return capacidadCache;
+    }
+
+    /**
+     * Obtiene el nombre del motor usado para calcular el árbol de expansión mínima.
+     *
+     * @return INCREMENTAL, KRUSKAL o BORUVKA.
+     * Complejidad Temporal: O(1).
+     */
+    public static String getMotorMST() {
+        return motorMST;
+    }
+
+    /**
+     * Obtiene la cantidad de landmarks que usa traceroute para guiar la búsqueda con A* (ALT).
+     *
+     * @return Cantidad de landmarks; 0 desactiva ALT.
+     * Complejidad Temporal: O(1).
+     */
+    public static int getLandmarks() {
+        return landmarks;
+    }
 }
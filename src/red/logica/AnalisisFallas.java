@@ -0,0 +1,223 @@
+package red.logica;
+
+import net.datastructures.CSRGraph;
+import net.datastructures.IntUnionFind;
+import net.datastructures.RollbackUnionFind;
+import red.modelo.Equipo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Análisis fuera de línea de muchos escenarios de caída de conexiones sobre una instantánea
+ * de la red activa.
+ *
+ * Cada conexión está presente en todos los escenarios salvo en los que cae, es decir, en unos
+ * pocos intervalos consecutivos de escenarios. Esos intervalos se reparten en un árbol de
+ * segmentos sobre los escenarios, y un recorrido en profundidad une las conexiones de cada nodo
+ * al bajar y las deshace al subir con un Union-Find con vuelta atrás. Al llegar a la hoja de un
+ * escenario el Union-Find contiene exactamente las conexiones que siguen en pie, sin haber
+ * reconstruido la vista ni recorrido la red con BFS.
+ */
+class AnalisisFallas {
+
+    private final CSRGraph<Equipo, Integer> instantanea;
+    private final RollbackUnionFind componentes;
+    private final int[] original;        // líder de cada equipo en la red sin fallas
+
+    // nodos del árbol de segmentos y conexiones asignadas a cada uno, como pares paralelos
+    private int[] nodoDe = new int[16];
+    private int[] conexionDe = new int[16];
+    private int pares;
+
+    // marcas por escenario para no repetir componentes ni fragmentos
+    private final int[] marcaOriginal;
+    private final int[] mejorFragmento;
+    private final int[] marcaFragmento;
+
+    /**
+     * Prepara el análisis sobre la instantánea indicada.
+     *
+     * @param instantanea Instantánea CSR de la vista activa.
+     * Complejidad Temporal: O(V + E α(V)).
+     */
+    AnalisisFallas(CSRGraph<Equipo, Integer> instantanea) {
+        this.instantanea = instantanea;
+        int n = instantanea.numVertices();
+        componentes = new RollbackUnionFind(n);
+        IntUnionFind sinFallas = new IntUnionFind(n);
+        for (int e = 0; e < instantanea.numEdges(); e++) {
+            sinFallas.union(instantanea.edgeSource(e), instantanea.edgeTarget(e));
+        }
+        original = new int[n];
+        for (int v = 0; v < n; v++) {
+            original[v] = sinFallas.find(v);
+        }
+        marcaOriginal = new int[n];
+        mejorFragmento = new int[n];
+        marcaFragmento = new int[n];
+    }
+
+    /**
+     * Analiza los escenarios indicados.
+     *
+     * @param fallas Para cada escenario, los identificadores CSR de las conexiones que caen.
+     * @return El resultado de cada escenario, en el mismo orden.
+     * Complejidad Temporal: O((E + F) log k log V + D), con k escenarios, F conexiones caídas
+     * en total y D equipos desconectados informados.
+     */
+    List<ResultadoFallas> analizar(int[][] fallas) {
+        int k = fallas.length;
+        int m = instantanea.numEdges();
+        // escenarios en que cae cada conexión, en orden creciente
+        int[] inicio = new int[m + 1];
+        for (int[] escenario : fallas) {
+            for (int e : escenario) {
+                inicio[e + 1]++;
+            }
+        }
+        for (int e = 0; e < m; e++) {
+            inicio[e + 1] += inicio[e];
+        }
+        int[] caidas = new int[inicio[m]];
+        int[] llenos = Arrays.copyOf(inicio, m);
+        for (int i = 0; i < k; i++) {
+            for (int e : fallas[i]) {
+                caidas[llenos[e]++] = i;
+            }
+        }
+
+        Arrays.fill(marcaOriginal, 0);
+        Arrays.fill(marcaFragmento, 0);
+        int base = componentes.checkpoint();
+        pares = 0;
+        for (int e = 0; e < m; e++) {
+            if (inicio[e] == llenos[e]) {        // nunca cae: se une una sola vez para todos
+                componentes.union(instantanea.edgeSource(e), instantanea.edgeTarget(e));
+                continue;
+            }
+            int desde = 0;                       // intervalos entre caídas consecutivas
+            for (int j = inicio[e]; j < llenos[e]; j++) {
+                if (caidas[j] > desde) {
+                    asignar(1, 0, k, desde, caidas[j], e);
+                }
+                desde = caidas[j] + 1;
+            }
+            if (desde < k) {
+                asignar(1, 0, k, desde, k, e);
+            }
+        }
+        ordenarPorNodo(k);
+
+        ResultadoFallas[] resultados = new ResultadoFallas[k];
+        if (k > 0) {
+            recorrer(1, 0, k, fallas, resultados);
+        }
+        componentes.rollback(base);
+        return Arrays.asList(resultados);
+    }
+
+    /**
+     * Asigna la conexión e al intervalo de escenarios [desde, hasta) dentro del nodo que cubre [lo, hi).
+     * Complejidad Temporal: O(log k).
+     */
+    private void asignar(int nodo, int lo, int hi, int desde, int hasta, int e) {
+        if (hasta <= lo || hi <= desde) {
+            return;
+        }
+        if (desde <= lo && hi <= hasta) {
+            if (pares == nodoDe.length) {
+                nodoDe = Arrays.copyOf(nodoDe, 2 * pares);
+                conexionDe = Arrays.copyOf(conexionDe, 2 * pares);
+            }
+            nodoDe[pares] = nodo;
+            conexionDe[pares++] = e;
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        asignar(2 * nodo, lo, mid, desde, hasta, e);
+        asignar(2 * nodo + 1, mid, hi, desde, hasta, e);
+    }
+
+    private int[] primeroDeNodo;
+
+    /**
+     * Agrupa los pares por nodo con un conteo, dejando las conexiones del nodo x en
+     * conexionDe[primeroDeNodo[x] .. primeroDeNodo[x + 1] - 1].
+     * Complejidad Temporal: O(k + pares).
+     */
+    private void ordenarPorNodo(int k) {
+        int nodos = 4 * Math.max(k, 1);
+        primeroDeNodo = new int[nodos + 1];
+        for (int j = 0; j < pares; j++) {
+            primeroDeNodo[nodoDe[j] + 1]++;
+        }
+        for (int x = 0; x < nodos; x++) {
+            primeroDeNodo[x + 1] += primeroDeNodo[x];
+        }
+        int[] ordenadas = new int[pares];
+        int[] llenos = Arrays.copyOf(primeroDeNodo, nodos);
+        for (int j = 0; j < pares; j++) {
+            ordenadas[llenos[nodoDe[j]]++] = conexionDe[j];
+        }
+        conexionDe = ordenadas;
+    }
+
+    /**
+     * Une las conexiones del nodo, resuelve sus escenarios y deshace las uniones al volver.
+     * Complejidad Temporal: O(conexiones del subárbol · log V) más el costo de sus hojas.
+     */
+    private void recorrer(int nodo, int lo, int hi, int[][] fallas, ResultadoFallas[] resultados) {
+        int marca = componentes.checkpoint();
+        for (int j = primeroDeNodo[nodo]; j < primeroDeNodo[nodo + 1]; j++) {
+            int e = conexionDe[j];
+            componentes.union(instantanea.edgeSource(e), instantanea.edgeTarget(e));
+        }
+        if (hi - lo == 1) {
+            resultados[lo] = resolver(lo, fallas[lo]);
+        } else {
+            int mid = (lo + hi) >>> 1;
+            recorrer(2 * nodo, lo, mid, fallas, resultados);
+            recorrer(2 * nodo + 1, mid, hi, fallas, resultados);
+        }
+        componentes.rollback(marca);
+    }
+
+    /**
+     * Arma el resultado de un escenario con las conexiones que siguen en pie ya unidas.
+     * Toda componente que se parte tiene en cada fragmento un extremo de alguna conexión caída,
+     * así que solo se examinan esos extremos y se listan los fragmentos que no son el mayor.
+     * Complejidad Temporal: O(F log V + D), con F conexiones caídas y D equipos desconectados.
+     */
+    private ResultadoFallas resolver(int escenario, int[] caidas) {
+        int marca = escenario + 1;
+        for (int e : caidas) {                       // fragmento más grande de cada componente original
+            for (int v : new int[]{instantanea.edgeSource(e), instantanea.edgeTarget(e)}) {
+                int o = original[v];
+                int f = componentes.find(v);
+                if (marcaOriginal[o] != marca
+                        || componentes.setSize(f) > componentes.setSize(mejorFragmento[o])) {
+                    marcaOriginal[o] = marca;
+                    mejorFragmento[o] = f;
+                }
+            }
+        }
+        List<Equipo> desconectados = new ArrayList<>();
+        for (int e : caidas) {
+            for (int v : new int[]{instantanea.edgeSource(e), instantanea.edgeTarget(e)}) {
+                int f = componentes.find(v);
+                if (marcaFragmento[f] == marca || f == mejorFragmento[original[v]]) {
+                    continue;
+                }
+                marcaFragmento[f] = marca;
+                int w = f;
+                do {
+                    desconectados.add(instantanea.vertexAt(w).getElement());
+                    w = componentes.next(w);
+                } while (w != f);
+            }
+        }
+        return new ResultadoFallas(componentes.numSets(), desconectados);
+    }
+}
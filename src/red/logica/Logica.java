@@ -3,9 +3,12 @@ package red.logica;
 import net.datastructures.*;
 import red.modelo.Conexion;
 import red.modelo.Equipo;
+import red.modelo.Router;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Clase encargada de la lógica de negocio de la red de computadoras.
@@ -13,30 +16,77 @@ import java.util.List;
  */
 public class Logica {
 
+    /** Capacidad inicial de las caches de traceroute y flujo máximo. */
+    private static final int CAPACIDAD_CACHE_POR_DEFECTO = 1024;
+
     private final Graph<Equipo, Conexion> red;
     private final HashMap<String, Vertex<Equipo>> vertices;
+    private final VistaActiva grafoActivo;
+    private final VistaActiva grafoCapacidad;
+    private final TablaRuteo tablaRuteo;
+    private long versionTopologia;
+    private int cantidadLandmarks;
+    private Landmarks<Equipo> landmarks;
+    private long versionLandmarks = -1;
+    private DynamicShortestPathTree<Equipo> rutasMantenidas;
+    private DynamicMinimumSpanningForest<Equipo> bosqueMinimo;
+    private MotorMST motorMST = MotorMST.INCREMENTAL;
+    private final LRUCache<String, PositionalList<Vertex<Equipo>>> cacheRutas;
+    private final LRUCache<String, ResultadoFlujo> cacheFlujos;
+    private FlowNetwork.Algorithm algoritmoFlujo = FlowNetwork.Algorithm.DINIC;
+    private FlowNetwork<Equipo> redFlujo;
+    private long versionRedFlujo = -1;
+    private GomoryHuTree<Equipo> arbolGomoryHu;
+    private long versionGomoryHu = -1;
 
     /**
      * Resumen de Complejidades Temporales:
      *
      * MÉTODOS LÓGICOS:
      * - ping(ip): O(1) - Acceso directo a HashMap.
-     * - traceroute(ipOrigen, ipDestino): O((V + E) log V) - Dominado por Dijkstra.
-     * - MST(): O(E log E) - Dominado por algoritmo de Kruskal.
-     * - calcularFlujoMaximo(ipOrigen, ipDestino): O(VE²) - Dominado por Edmonds-Karp.
+     * - traceroute(ipOrigen, ipDestino): O(saltos) si el origen ya está en la tabla de ruteo;
+     *   si no, A* con landmarks (ALT) o Dijkstra bidireccional, O((V + E) log V) en el peor caso,
+     *   que en la práctica solo exploran una parte pequeña de la red.
+     * - tracerouteLote(pares): O(k (V + E) log V / P + saltos) - Un Dijkstra por origen distinto, en paralelo.
+     * - rutasAlternativas(ipOrigen, ipDestino, k): O((V + E) log V) más O(k L) búsquedas A* - Yen guiado por
+     *   un árbol inverso; rutasAlternativasLote comparte ese árbol entre los pares con el mismo destino.
+     * - tracerouteALT(ipOrigen, ipDestino): O((V + E) log V) en el peor caso; informa los vértices asentados.
+     * - rutasDesde(ipOrigen): O((V + E) log V) - Un único Dijkstra que sirve para todos los destinos.
+     * - precalcularRutas(): O(V (V + E) log V / P) - Dijkstra desde cada origen en paralelo.
+     * - mantenerRutasDesde(ipOrigen): O((V + E) log V) una vez; luego cada cambio se repara
+     *   en O(δ log δ), con δ = equipos cuya distancia cambia más sus conexiones.
+     * - analizarFallas(escenarios): O((E + F) log k log V + D) - k escenarios de caídas resueltos juntos
+     *   con un Union-Find con vuelta atrás, sin reconstruir la vista ni hacer un BFS por escenario.
+     * - MST(): O(E log E) la primera vez (Kruskal); luego O(V), el bosque se mantiene ante cada cambio.
+     *   Con los motores KRUSKAL o BORUVKA se recalcula en cada consulta, el segundo en paralelo.
+     * - calcularFlujoMaximo(ipOrigen, ipDestino): O(V²E) - Dinic sobre la red residual (o push-relabel, O(V²√E)).
+     * - analizarFlujoMaximo(ipOrigen, ipDestino): igual que calcularFlujoMaximo, más O(V + E) para leer el corte mínimo.
+     * - flujoMaximoPorArbol(ipOrigen, ipDestino): O(V) sobre el árbol de Gomory-Hu; construirlo
+     *   cuesta V - 1 flujos máximos repartidos en P hilos y se rehace solo si cambian las capacidades.
+     *   traceroute y calcularFlujoMaximo responden en O(1) si el par está en su cache LRU,
+     *   cuya clave incluye la versión de la vista usada, de modo que un cambio deja obsoletas
+     *   las entradas anteriores sin vaciar la cache.
+     *
+     * MÉTODOS DE ACTUALIZACIÓN:
+     * - cambiarEstadoEquipo(ip, estado): O(grado) - Actualiza las vistas activas de forma incremental.
+     * - cambiarEstadoConexion, cambiarLatencia, cambiarBandwidth: O(1), más la reparación
+     *   de las rutas mantenidas y del bosque de expansión mínima si los hay. cambiarBandwidth ajusta
+     *   además la capacidad en la red residual vigente en O(grado), conservando sus flujos.
      *
-     * MÉTODOS AUXILIARES:
-     * - crearGrafoActivo() y crearGrafoCapacidad(): O(V + E) - Recorre todos los vértices y aristas.
+     * Las vistas activas (latencia y capacidad) se construyen una única vez en O(V + E)
+     * y se mantienen actualizadas, por lo que las consultas no pagan su reconstrucción.
      *
      * ALGORITMOS UTILIZADOS (de GraphAlgorithms):
      * - BFS: O(V + E) - Búsqueda en anchura.
-     * - Dijkstra (shortestPathLengths): O((V + E) log V) - Con heap adaptable.
+     * - Dijkstra (shortestPathLengths): O((V + E) log V) - Con heap d-ario indexado de claves int.
      * - Kruskal (MST): O(E log E) - Con Union-Find.
-     * - Edmonds-Karp (maxFlow): O(VE²) - Ford-Fulkerson con BFS.
+     * - Borůvka (BoruvkaMST): O(E log V / P) - Rondas paralelas con Union-Find concurrente.
+     * - Dinic / push-relabel por mayor etiqueta (FlowNetwork): O(V²E) / O(V²√E) - Con arcos residuales en ambos sentidos.
      *
      * Donde:
      * V = número de vértices (equipos)
      * E = número de aristas (conexiones)
+     * P = cantidad de hilos del ForkJoinPool
      */
 
     /**
@@ -66,6 +116,12 @@ public class Logica {
                 }
             }
         }
+
+        grafoActivo = new VistaActiva(red, Conexion::getLatencia);
+        grafoCapacidad = new VistaActiva(red, Conexion::getBandwidth);
+        tablaRuteo = new TablaRuteo(grafoActivo);
+        cacheRutas = new LRUCache<>(CAPACIDAD_CACHE_POR_DEFECTO);
+        cacheFlujos = new LRUCache<>(CAPACIDAD_CACHE_POR_DEFECTO);
     }
 
     /**
@@ -82,71 +138,361 @@ public class Logica {
     /**
      * Calcula el camino óptimo (menor latencia) entre dos equipos utilizando el algoritmo de Dijkstra.
      * Se consideran únicamente los nodos y conexiones que están activos.
+     * Si el origen es el de las rutas mantenidas, o la tabla de ruteo ya tiene precalculado
+     * el árbol del origen, solo se recorren sus predecesores.
+     * Si hay landmarks configurados se usa A* con cotas inferiores por landmarks (ALT).
+     * En caso contrario se ejecuta un Dijkstra bidireccional punto a punto, que se detiene
+     * cuando las búsquedas desde el origen y desde el destino se encuentran.
+     * Las rutas encontradas se guardan en una cache LRU por (origen, destino, versión de la vista);
+     * la lista devuelta puede ser compartida con consultas posteriores y no debe modificarse.
      *
      * @param ipOrigen Dirección IP del equipo de origen.
      * @param ipDestino Dirección IP del equipo de destino.
      * @return Una lista posicional de vértices que representa la ruta desde el origen hasta el destino.
      * @throws IllegalArgumentException Si alguno de los equipos no existe, no está activo, o no hay camino entre ellos.
      * Complejidad Temporal:
-     * - crearGrafoActivo: O(V + E), para filtrar elementos activos.
-     * - shortestPathLengths (Dijkstra): O((V + E) log V), utilizando heap adaptable.
-     * - spTree: O(V + E), para reconstruir el árbol de caminos mínimos.
-     * - shortestPathList: O(V), para reconstruir el camino específico.
-     * - traceroute: O((V + E) log V), dominado por Dijkstra.
+     * - Búsqueda de los vértices en la vista activa y consulta de la cache: O(1).
+     * - Recorrido de predecesores (origen en la tabla): O(saltos).
+     * - ALT o Dijkstra bidireccional (origen fuera de la tabla): O((V + E) log V) en el peor caso.
+     * - traceroute: O(saltos) con la tabla precalculada, O((V + E) log V) en el peor caso.
      */
     public PositionalList<Vertex<Equipo>> traceroute(String ipOrigen, String ipDestino) {
 
-        PositionalList<Vertex<Equipo>> camino;
+        String clave = ipOrigen + ">" + ipDestino + "@" + grafoActivo.getVersion();
+        PositionalList<Vertex<Equipo>> camino = cacheRutas.get(clave);
+        if (camino != null) {
+            return camino;
+        }
 
-        Graph<Equipo, Integer> grafoActivo = crearGrafoActivo();
+        Vertex<Equipo> origenNode = grafoActivo.getVertice(ipOrigen);
+        Vertex<Equipo> destinoNode = grafoActivo.getVertice(ipDestino);
+
+        if (origenNode == null || destinoNode == null) {
+            throw new IllegalArgumentException("Uno o ambos equipos no se encuentran activos o no existen en la red.");
+        }
 
-        Vertex<Equipo> origenNode = null;
-        Vertex<Equipo> destinoNode = null;
 
-        for (Vertex<Equipo> v : grafoActivo.vertices()) {
-            String ip = v.getElement().getIpAddress();
-            if (ip.equals(ipOrigen)) {
-                origenNode = v;
+        if (rutasMantenidas != null && rutasMantenidas.getSource() == origenNode) {
+            camino = rutasMantenidas.isReachable(destinoNode) ? rutasMantenidas.pathTo(destinoNode) : null;
+        } else if (tablaRuteo.tieneOrigen(ipOrigen)) {
+            camino = tablaRuteo.ruta(ipOrigen, ipDestino);
+        } else if (cantidadLandmarks > 0) {
+            try {
+                camino = tracerouteALT(ipOrigen, ipDestino).getPath();
+            } catch (IllegalArgumentException e) {
+                camino = null;
             }
-            if (ip.equals(ipDestino)) {
-                destinoNode = v;
+        } else {
+            try {
+                camino = GraphAlgorithms.bidirectionalShortestPath(grafoActivo.getGrafo(), origenNode, destinoNode);
+            } catch (IllegalArgumentException e) {
+                camino = null;
             }
         }
+        if (camino == null) {
+            throw new IllegalArgumentException(mensajeSinRuta(origenNode, destinoNode));
+        }
 
+        cacheRutas.put(clave, camino);
+        return camino;
+    }
 
+    /**
+     * Resuelve muchos traceroute a la vez. Los pares se agrupan por origen y se ejecuta un único
+     * Dijkstra por cada origen distinto, repartidos en paralelo entre los núcleos; cada destino se
+     * obtiene luego recorriendo predecesores. Los árboles calculados quedan en la tabla de ruteo.
+     * Los pares inválidos o sin ruta no interrumpen el lote: su error queda registrado en el resultado.
+     *
+     * @param pares Lista de pares {ipOrigen, ipDestino}.
+     * @return Rutas o errores de cada par, en el mismo orden, y la cantidad de Dijkstra ejecutados.
+     * Complejidad Temporal: O(k (V + E) log V / P + suma de saltos), con k orígenes distintos
+     * que todavía no estaban en la tabla de ruteo.
+     */
+    public ResultadoLote tracerouteLote(List<String[]> pares) {
+        ResultadoLote resultado = new ResultadoLote(pares.size());
+        List<String> origenes = new ArrayList<>();
+        for (String[] par : pares) {
+            if (par != null && par.length == 2) {
+                origenes.add(par[0]);
+            }
+        }
+        resultado.setCorridasDijkstra(tablaRuteo.calcularOrigenes(origenes));
+
+        for (int i = 0; i < pares.size(); i++) {
+            String[] par = pares.get(i);
+            if (par == null || par.length != 2) {
+                resultado.setError(i, "El par debe contener exactamente una IP de origen y una de destino.");
+                continue;
+            }
+            Vertex<Equipo> origenNode = grafoActivo.getVertice(par[0]);
+            Vertex<Equipo> destinoNode = grafoActivo.getVertice(par[1]);
+            if (origenNode == null || destinoNode == null) {
+                resultado.setError(i, "Uno o ambos equipos no se encuentran activos o no existen en la red.");
+                continue;
+            }
+            PositionalList<Vertex<Equipo>> camino = tablaRuteo.ruta(par[0], par[1]);
+            if (camino == null) {
+                resultado.setError(i, mensajeSinRuta(origenNode, destinoNode));
+            } else {
+                resultado.setRuta(i, camino);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Calcula las k rutas sin ciclos de menor latencia entre dos equipos, para planificar rutas de
+     * respaldo ante fallas. Usa el algoritmo de Yen sobre la instantánea CSR de la vista activa,
+     * guiado por un árbol de caminos mínimos hacia el destino.
+     *
+     * @param ipOrigen Dirección IP del equipo de origen.
+     * @param ipDestino Dirección IP del equipo de destino.
+     * @param k Cantidad máxima de rutas.
+     * @return Las rutas con su latencia total, de menor a mayor; puede tener menos de k rutas.
+     * @throws IllegalArgumentException Si algún equipo no existe o no está activo, o si no hay ruta entre ellos.
+     * Complejidad Temporal: O((V + E) log V) para el árbol inverso, más O(k L) búsquedas A* con L saltos por ruta.
+     */
+    public List<PathResult<Equipo>> rutasAlternativas(String ipOrigen, String ipDestino, int k) {
+        Vertex<Equipo> origenNode = grafoActivo.getVertice(ipOrigen);
+        Vertex<Equipo> destinoNode = grafoActivo.getVertice(ipDestino);
         if (origenNode == null || destinoNode == null) {
             throw new IllegalArgumentException("Uno o ambos equipos no se encuentran activos o no existen en la red.");
         }
+        CSRGraph<Equipo, Integer> instantanea = grafoActivo.getInstantanea();
+        List<PathResult<Equipo>> rutas = new ArrayList<>();
+        for (PathResult<Equipo> ruta : GraphAlgorithms.kShortestPaths(instantanea,
+                instantanea.vertexId(origenNode), instantanea.vertexId(destinoNode), k)) {
+            rutas.add(ruta);
+        }
+        if (rutas.isEmpty() && k > 0) {
+            throw new IllegalArgumentException(mensajeSinRuta(origenNode, destinoNode));
+        }
+        return rutas;
+    }
 
+    /**
+     * Calcula las k rutas sin ciclos de menor latencia para muchos pares a la vez. Los pares se agrupan
+     * por destino, de modo que cada destino distinto calcula un único árbol de caminos mínimos inverso,
+     * y los grupos se resuelven en paralelo. Los pares inválidos, con equipos inactivos o sin ruta no
+     * interrumpen el lote: reciben una lista vacía.
+     *
+     * @param pares Lista de pares {ipOrigen, ipDestino}.
+     * @param k Cantidad máxima de rutas por par.
+     * @return Para cada par, en el mismo orden, sus rutas con latencia total de menor a mayor.
+     * Complejidad Temporal: O(d (V + E) log V / P) para los árboles de d destinos distintos, más
+     * O(k L) búsquedas A* por par.
+     */
+    public List<List<PathResult<Equipo>>> rutasAlternativasLote(List<String[]> pares, int k) {
+        CSRGraph<Equipo, Integer> instantanea = grafoActivo.getInstantanea();
+        int[] origenes = new int[pares.size()];
+        int[] destinos = new int[pares.size()];
+        for (int i = 0; i < pares.size(); i++) {
+            String[] par = pares.get(i);
+            Vertex<Equipo> origenNode = (par == null || par.length != 2) ? null : grafoActivo.getVertice(par[0]);
+            Vertex<Equipo> destinoNode = (par == null || par.length != 2) ? null : grafoActivo.getVertice(par[1]);
+            origenes[i] = (origenNode == null) ? -1 : instantanea.vertexId(origenNode);
+            destinos[i] = (destinoNode == null) ? -1 : instantanea.vertexId(destinoNode);
+        }
+        return new RutasAlternativas(instantanea, origenes, destinos, k).calcular(ForkJoinPool.commonPool());
+    }
 
-        try{
-            camino = GraphAlgorithms.shortestPathList(grafoActivo, origenNode, destinoNode);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("No se encontró una ruta entre el equipo (" + origenNode.getElement().getId() + ") " + origenNode.getElement().getIpAddress() + " y el equipo (" + destinoNode.getElement().getId() + ") " + destinoNode.getElement().getIpAddress() + ".");
+    /**
+     * Arma el mensaje de error para dos equipos activos sin ruta entre ellos.
+     *
+     * @param origenNode Vértice del equipo de origen.
+     * @param destinoNode Vértice del equipo de destino.
+     * @return Mensaje descriptivo con los identificadores y direcciones IP.
+     * Complejidad Temporal: O(1).
+     */
+    private String mensajeSinRuta(Vertex<Equipo> origenNode, Vertex<Equipo> destinoNode) {
+        return "No se encontró una ruta entre el equipo (" + origenNode.getElement().getId() + ") " + origenNode.getElement().getIpAddress() + " y el equipo (" + destinoNode.getElement().getId() + ") " + destinoNode.getElement().getIpAddress() + ".";
+    }
+
+    /**
+     * Calcula en una sola pasada de Dijkstra las distancias y las aristas padre desde un origen
+     * hacia todos los equipos activos. Permite obtener la ruta a cualquier cantidad de destinos
+     * con pathTo(destino) sin volver a ejecutar el algoritmo.
+     *
+     * @param ipOrigen Dirección IP del equipo de origen.
+     * @return Árbol de caminos mínimos con raíz en el origen, sobre la vista activa de latencias.
+     * @throws IllegalArgumentException Si el equipo no existe o no está activo.
+     * Complejidad Temporal: O((V + E) log V), una única ejecución de Dijkstra.
+     */
+    public ShortestPathTree<Equipo> rutasDesde(String ipOrigen) {
+        Vertex<Equipo> origenNode = grafoActivo.getVertice(ipOrigen);
+        if (origenNode == null) {
+            throw new IllegalArgumentException("El equipo " + ipOrigen + " no se encuentra activo o no existe en la red.");
         }
+        return GraphAlgorithms.shortestPathTree(grafoActivo.getGrafo(), origenNode);
+    }
 
-        return camino;
+    /**
+     * Mantiene el árbol de caminos mínimos de un origen a medida que cambian las latencias y
+     * los estados de equipos y conexiones. Cada cambio repara solo el subárbol afectado en lugar
+     * de recalcular todo, y traceroute desde ese origen recorre directamente el árbol mantenido.
+     * Solo se mantiene un origen a la vez; si el origen se desactiva, deja de mantenerse.
+     *
+     * @param ipOrigen Dirección IP del equipo de origen.
+     * @return Árbol dinámico de caminos mínimos sobre la vista activa de latencias.
+     * @throws IllegalArgumentException Si el equipo no existe o no está activo.
+     * Complejidad Temporal: O((V + E) log V) para construirlo; cada cambio posterior cuesta
+     * O(δ log δ), donde δ son los equipos cuya distancia cambia y sus conexiones.
+     */
+    public DynamicShortestPathTree<Equipo> mantenerRutasDesde(String ipOrigen) {
+        Vertex<Equipo> origenNode = grafoActivo.getVertice(ipOrigen);
+        if (origenNode == null) {
+            throw new IllegalArgumentException("El equipo " + ipOrigen + " no se encuentra activo o no existe en la red.");
+        }
+        rutasMantenidas = new DynamicShortestPathTree<>(grafoActivo.getGrafo(), origenNode);
+        return rutasMantenidas;
     }
 
     /**
-     * Calcula el Árbol de Expansión Mínima (MST) de la red activa basándose en la latencia de las conexiones.
-     * Utiliza el algoritmo de Kruskal con estructura Union-Find para detectar ciclos.
+     * Obtiene el árbol de caminos mínimos mantenido, o null si no se mantiene ningún origen.
+     *
+     * @return El árbol dinámico vigente.
+     * Complejidad Temporal: O(1).
+     */
+    public DynamicShortestPathTree<Equipo> getRutasMantenidas() {
+        return rutasMantenidas;
+    }
+
+    /**
+     * Calcula el camino de menor latencia entre dos equipos con A* guiado por landmarks (ALT).
+     * Las distancias desde los landmarks se precalculan y se refrescan cuando cambia la vista activa.
+     * Sin landmarks configurados equivale a un Dijkstra que se detiene al llegar al destino,
+     * lo que permite comparar la cantidad de vértices asentados.
+     *
+     * @param ipOrigen Dirección IP del equipo de origen.
+     * @param ipDestino Dirección IP del equipo de destino.
+     * @return El camino, su latencia total y la cantidad de vértices asentados por la búsqueda.
+     * @throws IllegalArgumentException Si alguno de los equipos no está activo o no hay camino entre ellos.
+     * Complejidad Temporal:
+     * - Refresco de landmarks (solo si cambió la vista): O(L (V + E) log V), con L landmarks.
+     * - A*: O((V + E) log V) en el peor caso.
+     */
+    public PathResult<Equipo> tracerouteALT(String ipOrigen, String ipDestino) {
+        Vertex<Equipo> origenNode = grafoActivo.getVertice(ipOrigen);
+        Vertex<Equipo> destinoNode = grafoActivo.getVertice(ipDestino);
+        if (origenNode == null || destinoNode == null) {
+            throw new IllegalArgumentException("Uno o ambos equipos no se encuentran activos o no existen en la red.");
+        }
+        Landmarks<Equipo> alt = obtenerLandmarks();
+        CSRGraph<Equipo, Integer> instantanea = alt.getGraph();
+        return GraphAlgorithms.aStarShortestPath(alt, instantanea.vertexId(origenNode), instantanea.vertexId(destinoNode));
+    }
+
+    /**
+     * Configura la cantidad de landmarks usados por traceroute. Se eligen automáticamente
+     * los routers activos de mayor grado. Con 0 se desactiva ALT.
+     *
+     * @param cantidad Cantidad de landmarks.
+     * @throws IllegalArgumentException Si la cantidad es negativa.
+     * Complejidad Temporal: O(1); las distancias se calculan en la próxima consulta.
+     */
+    public void configurarLandmarks(int cantidad) {
+        if (cantidad < 0) {
+            throw new IllegalArgumentException("La cantidad de landmarks no puede ser negativa.");
+        }
+        cantidadLandmarks = cantidad;
+        landmarks = null;
+    }
+
+    /**
+     * Devuelve los landmarks vigentes, recalculando sus distancias si la vista de latencias cambió.
+     *
+     * @return Landmarks sobre la instantánea actual de la vista activa.
+     * Complejidad Temporal: O(1) si están vigentes, O(L (V + E) log V) si hay que recalcularlos.
+     */
+    private Landmarks<Equipo> obtenerLandmarks() {
+        if (landmarks == null || versionLandmarks != grafoActivo.getVersion()) {
+            CSRGraph<Equipo, Integer> instantanea = grafoActivo.getInstantanea();
+            int[] elegidos = Landmarks.byDegree(instantanea, cantidadLandmarks, e -> e instanceof Router);
+            landmarks = new Landmarks<>(instantanea, elegidos);
+            versionLandmarks = grafoActivo.getVersion();
+        }
+        return landmarks;
+    }
+
+    /**
+     * Analiza escenarios hipotéticos de caída de conexiones sin modificar la red: para cada uno
+     * informa cuántas componentes conexas tendría la red activa y qué equipos quedarían separados
+     * del fragmento principal de su componente.
+     * Todos los escenarios se resuelven juntos y fuera de línea, uniendo y deshaciendo conexiones
+     * en un Union-Find con vuelta atrás, en lugar de reconstruir la vista activa y recorrerla con BFS
+     * para cada uno. Las conexiones que ya están inactivas se ignoran.
+     *
+     * @param escenarios Para cada escenario, la lista de pares {ip1, ip2} de las conexiones que caen.
+     * @return El resultado de cada escenario, en el mismo orden.
+     * @throws IllegalArgumentException Si alguna de las conexiones no existe en la red.
+     * Complejidad Temporal: O((E + F) log k log V + D), con k escenarios, F conexiones caídas en total
+     * y D equipos desconectados informados.
+     */
+    public List<ResultadoFallas> analizarFallas(List<List<String[]>> escenarios) {
+        CSRGraph<Equipo, Integer> instantanea = grafoActivo.getInstantanea();
+        Graph<Equipo, Integer> activo = grafoActivo.getGrafo();
+        int[][] fallas = new int[escenarios.size()][];
+        for (int i = 0; i < fallas.length; i++) {
+            List<String[]> caidas = escenarios.get(i);
+            int[] ids = new int[caidas.size()];
+            int cantidad = 0;
+            for (String[] par : caidas) {
+                buscarConexion(par[0], par[1]);
+                Vertex<Equipo> v1 = grafoActivo.getVertice(par[0]);
+                Vertex<Equipo> v2 = grafoActivo.getVertice(par[1]);
+                Edge<Integer> e = (v1 == null || v2 == null) ? null : activo.getEdge(v1, v2);
+                if (e != null) {
+                    ids[cantidad++] = instantanea.edgeId(e);
+                }
+            }
+            fallas[i] = Arrays.copyOf(ids, cantidad);
+        }
+        return new AnalisisFallas(instantanea).analizar(fallas);
+    }
+
+    /**
+     * Algoritmos disponibles para calcular el MST.
+     * INCREMENTAL mantiene el bosque ante cada cambio de la red; KRUSKAL y BORUVKA lo recalculan
+     * en cada consulta sobre la instantánea CSR de la vista, el segundo en paralelo.
+     * KRUSKAL y BORUVKA desempatan por (latencia, identificador de conexión en la instantánea), por lo que
+     * devuelven exactamente las mismas conexiones. INCREMENTAL compara solo latencias: su bosque tiene la
+     * misma latencia total, pero ante conexiones de igual latencia puede elegir otras distintas.
+     */
+    public enum MotorMST { INCREMENTAL, KRUSKAL, BORUVKA }
+
+    /**
+     * Calcula el Árbol de Expansión Mínima (MST) de la red activa basándose en la latencia de las conexiones,
+     * con el motor elegido en configurarMotorMST.
+     * Con el motor INCREMENTAL la primera llamada construye el bosque con Kruskal y a partir de ahí se mantiene
+     * ante cambios de latencia y de estado de conexiones y equipos, por lo que las siguientes consultas
+     * solo recorren sus aristas.
      *
      * @return Una lista de cadenas de texto formateadas describiendo las conexiones del MST y sus latencias.
      * Complejidad Temporal:
-     * - crearGrafoActivo: O(V + E), para filtrar elementos activos.
-     * - Kruskal (MST): O(E log E), donde E es el número de aristas, dominado por la ordenación de aristas.
-     * - Union-Find: O(α(V)), donde α es la función inversa de Ackermann (prácticamente constante).
-     * - Formateo de resultados: O(V), para construir la lista de strings.
-     * - MST: O(E log E), dominado por el algoritmo de Kruskal.
+     * - INCREMENTAL: O(E log E) la primera llamada; luego O(V), para construir la lista de strings.
+     * - KRUSKAL: O(E log E), dominado por la ordenación de aristas.
+     * - BORUVKA: O(E log V / P), a lo sumo log V rondas que recorren las aristas en paralelo.
      */
     public List<String> MST() {
-        Graph<Equipo, Integer> grafoActivo = crearGrafoActivo();
-        PositionalList<Edge<Integer>> mstEdges = GraphAlgorithms.MST(grafoActivo);
+        Graph<Equipo, Integer> activo = grafoActivo.getGrafo();
+        PositionalList<Edge<Integer>> mstEdges;
+        switch (motorMST) {
+            case KRUSKAL:
+                mstEdges = GraphAlgorithms.MST(grafoActivo.getInstantanea());
+                break;
+            case BORUVKA:
+                mstEdges = new BoruvkaMST<>(grafoActivo.getInstantanea(), ForkJoinPool.commonPool()).edges();
+                break;
+            default:
+                if (bosqueMinimo == null) {
+                    bosqueMinimo = new DynamicMinimumSpanningForest<>(activo);
+                }
+                mstEdges = bosqueMinimo.edges();
+        }
 
         List<String> resultado = new ArrayList<>();
         for (Edge<Integer> e : mstEdges) {
-            Vertex<Equipo>[] endpoints = grafoActivo.endVertices(e);
+            Vertex<Equipo>[] endpoints = activo.endVertices(e);
             String linea = endpoints[0].getElement().getId() + " <--> " +
                     endpoints[1].getElement().getId() + " [Latencia: " + e.getElement() + " ms]\n";
             resultado.add(linea);
@@ -155,101 +501,399 @@ public class Logica {
     }
 
     /**
-     * Calcula el flujo máximo entre dos equipos en la red activa utilizando el algoritmo de Edmonds-Karp.
-     * Este algoritmo es una implementación del metodo Ford-Fulkerson que utiliza BFS para encontrar caminos de aumento.
+     * Elige el motor usado por MST(). Al dejar el motor INCREMENTAL se descarta el bosque mantenido.
+     *
+     * @param motor INCREMENTAL, KRUSKAL o BORUVKA.
+     * Complejidad Temporal: O(1).
+     */
+    public void configurarMotorMST(MotorMST motor) {
+        motorMST = motor;
+        if (motor != MotorMST.INCREMENTAL) {
+            bosqueMinimo = null;
+        }
+    }
+
+    /**
+     * Calcula el flujo máximo entre dos equipos en la red activa.
+     * Equivale a analizarFlujoMaximo(ipOrigen, ipDestino).getFlujo().
      *
      * @param ipOrigen Dirección IP del equipo origen (fuente).
      * @param ipDestino Dirección IP del equipo destino (sumidero).
      * @return Valor entero que representa el flujo máximo entre origen y destino.
-     * @throws IllegalArgumentException Si alguno de los equipos no es válido o no está activo.
-     * Complejidad Temporal:
-     * - crearGrafoCapacidad: O(V + E), para crear el grafo con capacidades.
-     * - BFS: O(V + E), para encontrar un camino de aumento en cada iteración.
-     * - Edmonds-Karp: O(VE²), ya que hay como máximo O(VE) iteraciones y cada una ejecuta BFS.
-     * - calcularFlujoMaximo: O(VE²), dominado por Edmonds-Karp.
+     * @throws IllegalArgumentException Si alguno de los equipos no es válido, no está activo, o son el mismo.
+     * Complejidad Temporal: O(V²E) con Dinic, O(1) si el par está en la cache.
      */
     public int calcularFlujoMaximo(String ipOrigen, String ipDestino) {
-        Graph<Equipo, Integer> grafoCap = crearGrafoCapacidad();
+        return analizarFlujoMaximo(ipOrigen, ipDestino).getFlujo();
+    }
+
+    /**
+     * Calcula el flujo máximo entre dos equipos en la red activa junto con su corte mínimo:
+     * los equipos del lado del origen y las conexiones saturadas que limitan el flujo.
+     * Trabaja sobre una red residual en arreglos planos donde cada conexión aporta un arco por sentido,
+     * de modo que el flujo puede circular en cualquiera de las dos direcciones de un enlace.
+     * Usa el algoritmo de Dinic o push-relabel por mayor etiqueta, según configurarAlgoritmoFlujo,
+     * y el corte se lee de la red residual final sin volver a calcular el flujo.
+     * La red residual se reconstruye solo cuando cambia la vista por estados; un cambio de ancho de banda
+     * solo ajusta la capacidad del arco. Con Dinic se parte del último flujo calculado para el mismo par:
+     * si una capacidad bajó se cancela localmente el exceso y luego solo se buscan los caminos nuevos.
+     * Los resultados se guardan en una cache LRU por (origen, destino, versión de la vista de capacidades).
+     *
+     * @param ipOrigen Dirección IP del equipo origen (fuente).
+     * @param ipDestino Dirección IP del equipo destino (sumidero).
+     * @return Flujo máximo, lado del origen y conexiones cuello de botella.
+     * @throws IllegalArgumentException Si alguno de los equipos no es válido, no está activo, o son el mismo.
+     * Complejidad Temporal:
+     * - Búsqueda de los vértices en la vista de capacidad y consulta de la cache: O(1).
+     * - Construcción de la red residual (solo si cambió la vista por estados): O(V + E).
+     * - Dinic: O(V²E) en el peor caso; partiendo del flujo anterior, O(V + E) por cada camino que
+     *   haya que cancelar o agregar. Push-relabel por mayor etiqueta: O(V²√E).
+     * - Lectura del corte mínimo sobre la red residual: O(V + E).
+     */
+    public ResultadoFlujo analizarFlujoMaximo(String ipOrigen, String ipDestino) {
+        Vertex<Equipo> source = grafoCapacidad.getVertice(ipOrigen);
+        Vertex<Equipo> sink = grafoCapacidad.getVertice(ipDestino);
 
-        Vertex<Equipo> source = null;
-        Vertex<Equipo> sink = null;
+        if (source == null || sink == null) {
+            throw new IllegalArgumentException("Origen o destino no válidos o inactivos.");
+        }
+        if (source == sink) {
+            throw new IllegalArgumentException("El origen y el destino deben ser equipos distintos.");
+        }
 
-        // Buscar los vértices en el nuevo grafo
-        for (Vertex<Equipo> v : grafoCap.vertices()) {
-            if (v.getElement().getIpAddress().equals(ipOrigen)) source = v;
-            if (v.getElement().getIpAddress().equals(ipDestino)) sink = v;
+        String clave = ipOrigen + ">" + ipDestino + "@" + grafoCapacidad.getVersion();
+        ResultadoFlujo resultado = cacheFlujos.get(clave);
+        if (resultado == null) {
+            FlowNetwork<Equipo> residual = obtenerRedFlujo();
+            CSRGraph<Equipo, Integer> instantanea = residual.getGraph();
+            int s = instantanea.vertexId(source), t = instantanea.vertexId(sink);
+            MinCutResult<Equipo> corte = algoritmoFlujo == FlowNetwork.Algorithm.DINIC
+                    ? residual.warmMinCut(s, t)
+                    : residual.minCut(s, t, algoritmoFlujo);
+
+            List<Equipo> ladoOrigen = new ArrayList<>();
+            for (Vertex<Equipo> v : corte.getSourceSide()) {
+                ladoOrigen.add(v.getElement());
+            }
+            List<Conexion> cuellos = new ArrayList<>();
+            for (Edge<Integer> e : corte.getCutEdges()) {
+                Vertex<Equipo>[] extremos = instantanea.endVertices(e);
+                cuellos.add(buscarConexion(extremos[0].getElement().getIpAddress(), extremos[1].getElement().getIpAddress()));
+            }
+            resultado = new ResultadoFlujo((int) Math.min(corte.getFlow(), Integer.MAX_VALUE), ladoOrigen, cuellos);
+            cacheFlujos.put(clave, resultado);
         }
+        return resultado;
+    }
+
+    /**
+     * Obtiene el flujo máximo entre dos equipos activos como el mínimo del camino que los une en el
+     * árbol de Gomory-Hu de la vista de capacidades. Conviene cuando se consultan muchos pares:
+     * el árbol se construye una vez con V - 1 flujos máximos en paralelo y luego cada par cuesta
+     * solo recorrer el árbol.
+     *
+     * @param ipOrigen Dirección IP de un equipo.
+     * @param ipDestino Dirección IP del otro equipo.
+     * @return Flujo máximo entre ambos equipos.
+     * @throws IllegalArgumentException Si alguno de los equipos no es válido, no está activo, o son el mismo.
+     * Complejidad Temporal: O(V) por consulta, más la construcción del árbol si la vista cambió.
+     */
+    public int flujoMaximoPorArbol(String ipOrigen, String ipDestino) {
+        Vertex<Equipo> source = grafoCapacidad.getVertice(ipOrigen);
+        Vertex<Equipo> sink = grafoCapacidad.getVertice(ipDestino);
 
         if (source == null || sink == null) {
             throw new IllegalArgumentException("Origen o destino no válidos o inactivos.");
         }
+        if (source == sink) {
+            throw new IllegalArgumentException("El origen y el destino deben ser equipos distintos.");
+        }
+        return (int) Math.min(getArbolGomoryHu().maxFlow(source, sink), Integer.MAX_VALUE);
+    }
 
-        return GraphAlgorithms.maxFlow(grafoCap, source, sink);
+    /**
+     * Devuelve el árbol de Gomory-Hu de la vista de capacidades, construyéndolo si la vista
+     * cambió desde la última vez (por estados o anchos de banda).
+     *
+     * @return Árbol de Gomory-Hu vigente.
+     * Complejidad Temporal: O(1) si está vigente; si no, V - 1 flujos máximos repartidos en P hilos.
+     */
+    public GomoryHuTree<Equipo> getArbolGomoryHu() {
+        if (arbolGomoryHu == null || versionGomoryHu != grafoCapacidad.getVersion()) {
+            arbolGomoryHu = new GomoryHuTree<>(grafoCapacidad.getInstantanea(), ForkJoinPool.commonPool(), algoritmoFlujo);
+            versionGomoryHu = grafoCapacidad.getVersion();
+        }
+        return arbolGomoryHu;
     }
 
     /**
-     * Crea y retorna una copia del grafo original que incluye únicamente los equipos y conexiones activos.
-     * Las aristas del nuevo grafo utilizan la latencia (Integer) como peso para los algoritmos.
+     * Elige el algoritmo usado por calcularFlujoMaximo. Ambos dan el mismo valor.
      *
-     * @return Un grafo no dirigido con los elementos activos de la red.
-     * Complejidad Temporal: O(V + E), donde V es el número de vértices y E el número de aristas;
-     * requerida para recorrer y filtrar todos los vértices y aristas del grafo original.
+     * @param algoritmo DINIC o PUSH_RELABEL.
+     * Complejidad Temporal: O(1).
      */
-    private Graph<Equipo, Integer> crearGrafoActivo() {
-        Graph<Equipo, Integer> grafoActivo = new AdjacencyMapGraph<>(false);
-        HashMap<String, Vertex<Equipo>> mapaActivos = new HashMap<>();
+    public void configurarAlgoritmoFlujo(FlowNetwork.Algorithm algoritmo) {
+        algoritmoFlujo = algoritmo;
+    }
 
-        for (Vertex<Equipo> v : red.vertices()) {
-            if (v.getElement().isStatus()) {
-                Vertex<Equipo> nuevoV = grafoActivo.insertVertex(v.getElement());
-                mapaActivos.put(v.getElement().getIpAddress(), nuevoV);
+    /**
+     * Ajusta la red residual vigente al nuevo ancho de banda de una conexión, de modo que no haga falta
+     * reconstruirla ni perder los flujos guardados. Si la red no estaba al día con la vista, no hace nada
+     * y se reconstruirá en la próxima consulta.
+     *
+     * @param c Conexión modificada.
+     * @param versionAnterior Versión de la vista de capacidades antes del cambio.
+     * Complejidad Temporal: O(grado) para ubicar el arco.
+     */
+    private void actualizarRedFlujo(Conexion c, long versionAnterior) {
+        if (redFlujo == null || versionRedFlujo != versionAnterior) {
+            return;
+        }
+        Vertex<Equipo> v1 = grafoCapacidad.getVertice(c.getSource().getIpAddress());
+        Vertex<Equipo> v2 = grafoCapacidad.getVertice(c.getTarget().getIpAddress());
+        if (v1 != null && v2 != null) {
+            CSRGraph<Equipo, Integer> instantanea = redFlujo.getGraph();
+            int arista = redFlujo.edgeBetween(instantanea.vertexId(v1), instantanea.vertexId(v2));
+            if (arista >= 0) {
+                redFlujo.setCapacity(arista, c.getBandwidth());
             }
         }
+        versionRedFlujo = grafoCapacidad.getVersion();
+    }
+
+    /**
+     * Devuelve la red residual de la vista de capacidades, reconstruyéndola si la vista cambió.
+     *
+     * @return Red residual sobre la instantánea actual.
+     * Complejidad Temporal: O(1) si está vigente, O(V + E) en caso contrario.
+     */
+    private FlowNetwork<Equipo> obtenerRedFlujo() {
+        if (redFlujo == null || versionRedFlujo != grafoCapacidad.getVersion()) {
+            redFlujo = new FlowNetwork<>(grafoCapacidad.getInstantanea());
+            versionRedFlujo = grafoCapacidad.getVersion();
+        }
+        return redFlujo;
+    }
 
-        for (Edge<Conexion> e : red.edges()) {
-            Conexion c = e.getElement();
-            if (c.isStatus()) {
-                Vertex<Equipo> v1 = mapaActivos.get(c.getSource().getIpAddress());
-                Vertex<Equipo> v2 = mapaActivos.get(c.getTarget().getIpAddress());
+    /**
+     * Cambia la capacidad de las caches de traceroute y flujo máximo.
+     * Con capacidad 0 las caches quedan desactivadas.
+     *
+     * @param capacidad Cantidad máxima de resultados guardados por cada cache.
+     * @throws IllegalArgumentException Si la capacidad es negativa.
+     * Complejidad Temporal: O(1), más los desalojos si la capacidad disminuye.
+     */
+    public void configurarCache(int capacidad) {
+        cacheRutas.setCapacity(capacidad);
+        cacheFlujos.setCapacity(capacidad);
+    }
 
-                if (v1 != null && v2 != null) {
-                    grafoActivo.insertEdge(v1, v2, c.getLatencia());
+    /**
+     * Obtiene la cache de traceroute, por ejemplo para consultar sus aciertos, fallos y desalojos.
+     *
+     * @return La cache de rutas.
+     * Complejidad Temporal: O(1).
+     */
+    public LRUCache<String, PositionalList<Vertex<Equipo>>> getCacheRutas() {
+        return cacheRutas;
+    }
+
+    /**
+     * Obtiene la cache de flujo máximo, por ejemplo para consultar sus aciertos, fallos y desalojos.
+     *
+     * @return La cache de flujos.
+     * Complejidad Temporal: O(1).
+     */
+    public LRUCache<String, ResultadoFlujo> getCacheFlujos() {
+        return cacheFlujos;
+    }
+
+    /**
+     * Precalcula en paralelo la tabla de ruteo completa (un árbol de caminos mínimos por cada equipo activo).
+     * Complejidad Temporal: O(V (V + E) log V / P), donde P es la cantidad de hilos disponibles.
+     */
+    public void precalcularRutas() {
+        tablaRuteo.reconstruir();
+    }
+
+    /**
+     * Obtiene la tabla de ruteo utilizada por traceroute, por ejemplo para consultar su consumo de memoria.
+     *
+     * @return La tabla de ruteo sobre la vista activa de latencias.
+     * Complejidad Temporal: O(1).
+     */
+    public TablaRuteo getTablaRuteo() {
+        return tablaRuteo;
+    }
+
+    /**
+     * Cambia el estado de un equipo y actualiza las vistas activas de forma incremental.
+     *
+     * @param ip Dirección IP del equipo.
+     * @param estado Nuevo estado del equipo (true = activo).
+     * @throws IllegalArgumentException Si el equipo no existe en la red.
+     * Complejidad Temporal: O(grado), solo se recorren las conexiones del equipo.
+     */
+    public void cambiarEstadoEquipo(String ip, boolean estado) {
+        Vertex<Equipo> v = vertices.get(ip);
+        if (v == null) {
+            throw new IllegalArgumentException("El equipo " + ip + " no existe en la red.");
+        }
+        Equipo equipo = v.getElement();
+        if (equipo.isStatus() == estado) {
+            return;
+        }
+        equipo.setStatus(estado);
+        if (estado) {
+            grafoActivo.activarEquipo(v);
+            grafoCapacidad.activarEquipo(v);
+            if (rutasMantenidas != null) {
+                rutasMantenidas.vertexInserted(grafoActivo.getVertice(ip));
+            }
+            if (bosqueMinimo != null) {
+                bosqueMinimo.vertexInserted(grafoActivo.getVertice(ip));
+            }
+        } else {
+            Vertex<Equipo> enVista = grafoActivo.getVertice(ip);
+            grafoActivo.desactivarEquipo(equipo);
+            grafoCapacidad.desactivarEquipo(equipo);
+            if (rutasMantenidas != null && enVista != null) {
+                if (rutasMantenidas.getSource() == enVista) {
+                    rutasMantenidas = null;
+                } else {
+                    rutasMantenidas.vertexRemoved(enVista);
                 }
             }
+            if (bosqueMinimo != null && enVista != null) {
+                bosqueMinimo.vertexRemoved(enVista);
+            }
         }
-        return grafoActivo;
+        tablaRuteo.invalidar();
+        versionTopologia++;
     }
 
     /**
-     * Crea un grafo donde las aristas tienen como peso el ancho de banda (bandwidth).
-     * Solo incluye elementos activos para operaciones de flujo máximo.
+     * Cambia el estado de la conexión entre dos equipos y actualiza las vistas activas.
      *
-     * @return Un grafo no dirigido con capacidades en las aristas.
-     * Complejidad Temporal: O(V + E), donde V es el número de vértices y E el número de aristas.
+     * @param ip1 Dirección IP de un extremo.
+     * @param ip2 Dirección IP del otro extremo.
+     * @param estado Nuevo estado de la conexión (true = activa).
+     * @throws IllegalArgumentException Si la conexión no existe.
+     * Complejidad Temporal: O(1).
      */
-    private Graph<Equipo, Integer> crearGrafoCapacidad() {
-        Graph<Equipo, Integer> grafoCap = new AdjacencyMapGraph<>(false);
-        HashMap<String, Vertex<Equipo>> mapaActivos = new HashMap<>();
+    public void cambiarEstadoConexion(String ip1, String ip2, boolean estado) {
+        Conexion c = buscarConexion(ip1, ip2);
+        if (c.isStatus() == estado) {
+            return;
+        }
+        c.setStatus(estado);
+        grafoActivo.actualizarConexion(c);
+        grafoCapacidad.actualizarConexion(c);
+        repararEstructurasMantenidas(c);
+        versionTopologia++;
+    }
 
-        for (Vertex<Equipo> v : red.vertices()) {
-            if (v.getElement().isStatus()) {
-                Vertex<Equipo> nuevoV = grafoCap.insertVertex(v.getElement());
-                mapaActivos.put(v.getElement().getIpAddress(), nuevoV);
-            }
+    /**
+     * Cambia la latencia de la conexión entre dos equipos y actualiza la vista de latencias.
+     *
+     * @param ip1 Dirección IP de un extremo.
+     * @param ip2 Dirección IP del otro extremo.
+     * @param latencia Nueva latencia en milisegundos.
+     * @throws IllegalArgumentException Si la conexión no existe o la latencia es negativa.
+     * Complejidad Temporal: O(1).
+     */
+    public void cambiarLatencia(String ip1, String ip2, int latencia) {
+        if (latencia < 0) {
+            throw new IllegalArgumentException("La latencia no puede ser negativa.");
         }
+        Conexion c = buscarConexion(ip1, ip2);
+        if (c.getLatencia() == latencia) {
+            return;
+        }
+        c.setLatencia(latencia);
+        grafoActivo.actualizarConexion(c);
+        repararEstructurasMantenidas(c);
+        versionTopologia++;
+    }
 
-        for (Edge<Conexion> e : red.edges()) {
-            Conexion c = e.getElement();
-            if (c.isStatus()) {
-                Vertex<Equipo> v1 = mapaActivos.get(c.getSource().getIpAddress());
-                Vertex<Equipo> v2 = mapaActivos.get(c.getTarget().getIpAddress());
+    /**
+     * Cambia el ancho de banda de la conexión entre dos equipos y actualiza la vista de capacidades
+     * y la red residual, que conserva los flujos calculados para repararlos en la próxima consulta.
+     *
+     * @param ip1 Dirección IP de un extremo.
+     * @param ip2 Dirección IP del otro extremo.
+     * @param bandwidth Nuevo ancho de banda.
+     * @throws IllegalArgumentException Si la conexión no existe o el ancho de banda es negativo.
+     * Complejidad Temporal: O(1), más O(grado) para ajustar la red residual.
+     */
+    public void cambiarBandwidth(String ip1, String ip2, int bandwidth) {
+        if (bandwidth < 0) {
+            throw new IllegalArgumentException("El ancho de banda no puede ser negativo.");
+        }
+        Conexion c = buscarConexion(ip1, ip2);
+        if (c.getBandwidth() == bandwidth) {
+            return;
+        }
+        c.setBandwidth(bandwidth);
+        long versionAnterior = grafoCapacidad.getVersion();
+        grafoCapacidad.actualizarConexion(c);
+        actualizarRedFlujo(c, versionAnterior);
+        versionTopologia++;
+    }
 
-                if (v1 != null && v2 != null) {
-                    grafoCap.insertEdge(v1, v2, c.getBandwidth());
-                }
-            }
+    /**
+     * Obtiene la versión de la topología; se incrementa con cada cambio de estado, latencia o ancho de banda.
+     *
+     * @return Número de versión actual de la topología.
+     * Complejidad Temporal: O(1).
+     */
+    public long getVersionTopologia() {
+        return versionTopologia;
+    }
+
+    /**
+     * Repara las rutas mantenidas y el bosque de expansión mínima tras un cambio en una conexión de la
+     * vista de latencias. Si alguno de sus extremos está inactivo la conexión no forma parte de la vista
+     * y no hay nada que reparar.
+     *
+     * @param c Conexión modificada.
+     * Complejidad Temporal: O(δ log δ) para las rutas, donde δ son los equipos cuya distancia cambia y sus
+     * conexiones; O(V) para el bosque, más las conexiones del árbol menor si se corta una de sus aristas.
+     */
+    private void repararEstructurasMantenidas(Conexion c) {
+        if (rutasMantenidas == null && bosqueMinimo == null) {
+            return;
+        }
+        Vertex<Equipo> v1 = grafoActivo.getVertice(c.getSource().getIpAddress());
+        Vertex<Equipo> v2 = grafoActivo.getVertice(c.getTarget().getIpAddress());
+        if (v1 == null || v2 == null) {
+            return;
+        }
+        if (rutasMantenidas != null) {
+            rutasMantenidas.edgeUpdated(v1, v2);
+        }
+        if (bosqueMinimo != null) {
+            bosqueMinimo.edgeUpdated(v1, v2);
+        }
+    }
+
+    /**
+     * Busca la conexión registrada en el grafo principal entre dos equipos.
+     *
+     * @param ip1 Dirección IP de un extremo.
+     * @param ip2 Dirección IP del otro extremo.
+     * @return La conexión entre ambos equipos.
+     * @throws IllegalArgumentException Si algún equipo o la conexión no existen.
+     * Complejidad Temporal: O(1).
+     */
+    private Conexion buscarConexion(String ip1, String ip2) {
+        Vertex<Equipo> v1 = vertices.get(ip1);
+        Vertex<Equipo> v2 = vertices.get(ip2);
+        Edge<Conexion> e = (v1 == null || v2 == null) ? null : red.getEdge(v1, v2);
+        if (e == null) {
+            throw new IllegalArgumentException("No existe una conexión entre " + ip1 + " y " + ip2 + ".");
         }
-        return grafoCap;
+        return e.getElement();
     }
 
     /**
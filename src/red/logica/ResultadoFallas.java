@@ -0,0 +1,60 @@
+package red.logica;
+
+import red.modelo.Equipo;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de un escenario hipotético de caída de conexiones: cuántas componentes conexas
+ * tendría la red activa y qué equipos quedarían separados del resto. Cuando una componente de la
+ * red se parte, se considera que su fragmento más grande conserva la conectividad y los equipos
+ * de los demás fragmentos quedan desconectados.
+ */
+public class ResultadoFallas {
+
+    private final int cantidadComponentes;
+    private final List<Equipo> equiposDesconectados;
+
+    /**
+     * Crea el resultado. La lista se guarda como vista de solo lectura.
+     *
+     * @param cantidadComponentes Cantidad de componentes conexas de la red activa en el escenario.
+     * @param equiposDesconectados Equipos separados del fragmento principal de su componente.
+     * Complejidad Temporal: O(1).
+     */
+    ResultadoFallas(int cantidadComponentes, List<Equipo> equiposDesconectados) {
+        this.cantidadComponentes = cantidadComponentes;
+        this.equiposDesconectados = Collections.unmodifiableList(equiposDesconectados);
+    }
+
+    /**
+     * Obtiene la cantidad de componentes conexas que tendría la red activa en el escenario.
+     *
+     * @return Cantidad de componentes.
+     * Complejidad Temporal: O(1).
+     */
+    public int getCantidadComponentes() {
+        return cantidadComponentes;
+    }
+
+    /**
+     * Obtiene los equipos que quedarían desconectados en el escenario.
+     *
+     * @return Lista de solo lectura con los equipos desconectados.
+     * Complejidad Temporal: O(1).
+     */
+    public List<Equipo> getEquiposDesconectados() {
+        return equiposDesconectados;
+    }
+
+    /**
+     * Indica si el escenario deja algún equipo desconectado.
+     *
+     * @return true si alguna componente de la red se parte.
+     * Complejidad Temporal: O(1).
+     */
+    public boolean hayDesconexiones() {
+        return !equiposDesconectados.isEmpty();
+    }
+}
@@ -0,0 +1,64 @@
+package red.logica;
+
+import red.modelo.Conexion;
+import red.modelo.Equipo;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de un cálculo de flujo máximo entre dos equipos junto con su corte mínimo:
+ * el valor del flujo, los equipos que quedan del lado del origen y las conexiones saturadas
+ * que separan ambos lados, es decir, los cuellos de botella entre origen y destino.
+ * La suma de los anchos de banda de esas conexiones es igual al flujo máximo.
+ */
+public class ResultadoFlujo {
+
+    private final int flujo;
+    private final List<Equipo> ladoOrigen;
+    private final List<Conexion> cuellosDeBotella;
+
+    /**
+     * Crea el resultado. Las listas se guardan como vistas de solo lectura.
+     *
+     * @param flujo Valor del flujo máximo.
+     * @param ladoOrigen Equipos del lado del origen del corte mínimo.
+     * @param cuellosDeBotella Conexiones saturadas que forman el corte mínimo.
+     * Complejidad Temporal: O(1).
+     */
+    ResultadoFlujo(int flujo, List<Equipo> ladoOrigen, List<Conexion> cuellosDeBotella) {
+        this.flujo = flujo;
+        this.ladoOrigen = Collections.unmodifiableList(ladoOrigen);
+        this.cuellosDeBotella = Collections.unmodifiableList(cuellosDeBotella);
+    }
+
+    /**
+     * Obtiene el valor del flujo máximo entre origen y destino.
+     *
+     * @return Flujo máximo.
+     * Complejidad Temporal: O(1).
+     */
+    public int getFlujo() {
+        return flujo;
+    }
+
+    /**
+     * Obtiene los equipos activos que quedan del lado del origen del corte mínimo.
+     *
+     * @return Lista de solo lectura con los equipos del lado del origen.
+     * Complejidad Temporal: O(1).
+     */
+    public List<Equipo> getLadoOrigen() {
+        return ladoOrigen;
+    }
+
+    /**
+     * Obtiene las conexiones saturadas que forman el corte mínimo.
+     *
+     * @return Lista de solo lectura con las conexiones cuello de botella.
+     * Complejidad Temporal: O(1).
+     */
+    public List<Conexion> getCuellosDeBotella() {
+        return cuellosDeBotella;
+    }
+}
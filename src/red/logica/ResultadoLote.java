@@ -0,0 +1,111 @@
+package red.logica;
+
+import net.datastructures.PositionalList;
+import net.datastructures.Vertex;
+import red.modelo.Equipo;
+
+/**
+ * Resultado de un traceroute por lotes. Para cada par consultado guarda la ruta encontrada
+ * o el mensaje de error, en la misma posición en que el par fue pedido, junto con la
+ * cantidad de ejecuciones de Dijkstra que hicieron falta para resolver todo el lote.
+ */
+public class ResultadoLote {
+
+    private final PositionalList<Vertex<Equipo>>[] rutas;
+    private final String[] errores;
+    private int corridasDijkstra;
+
+    /**
+     * Crea un resultado vacío para la cantidad de pares indicada.
+     *
+     * @param cantidad Cantidad de pares del lote.
+     * Complejidad Temporal: O(cantidad).
+     */
+    @SuppressWarnings("unchecked")
+    ResultadoLote(int cantidad) {
+        rutas = (PositionalList<Vertex<Equipo>>[]) new PositionalList[cantidad];
+        errores = new String[cantidad];
+    }
+
+    /**
+     * Obtiene la cantidad de pares del lote.
+     *
+     * @return Cantidad de pares.
+     * Complejidad Temporal: O(1).
+     */
+    public int size() {
+        return rutas.length;
+    }
+
+    /**
+     * Obtiene la ruta del par i-ésimo.
+     *
+     * @param i Posición del par en el lote.
+     * @return La ruta desde el origen hasta el destino, o null si el par terminó con error.
+     * Complejidad Temporal: O(1).
+     */
+    public PositionalList<Vertex<Equipo>> getRuta(int i) {
+        return rutas[i];
+    }
+
+    /**
+     * Obtiene el error del par i-ésimo.
+     *
+     * @param i Posición del par en el lote.
+     * @return El mensaje de error, o null si se encontró la ruta.
+     * Complejidad Temporal: O(1).
+     */
+    public String getError(int i) {
+        return errores[i];
+    }
+
+    /**
+     * Indica si el par i-ésimo terminó con error.
+     *
+     * @param i Posición del par en el lote.
+     * @return true si no se pudo obtener la ruta.
+     * Complejidad Temporal: O(1).
+     */
+    public boolean tieneError(int i) {
+        return errores[i] != null;
+    }
+
+    /**
+     * Obtiene la cantidad de pares que terminaron con error.
+     *
+     * @return Cantidad de errores del lote.
+     * Complejidad Temporal: O(n), con n pares.
+     */
+    public int getCantidadErrores() {
+        int cantidad = 0;
+        for (String error : errores) {
+            if (error != null) {
+                cantidad++;
+            }
+        }
+        return cantidad;
+    }
+
+    /**
+     * Obtiene la cantidad de ejecuciones de Dijkstra realizadas para resolver el lote.
+     * Los orígenes repetidos o ya presentes en la tabla de ruteo no suman ejecuciones.
+     *
+     * @return Cantidad de ejecuciones de Dijkstra.
+     * Complejidad Temporal: O(1).
+     */
+    public int getCorridasDijkstra() {
+        return corridasDijkstra;
+    }
+
+    void setRuta(int i, PositionalList<Vertex<Equipo>> ruta) {
+        rutas[i] = ruta;
+    }
+
+    void setError(int i, String error) {
+        errores[i] = error;
+    }
+
+    void setCorridasDijkstra(int corridasDijkstra) {
+        this.corridasDijkstra = corridasDijkstra;
+    }
+}
@@ -0,0 +1,129 @@
+package red.logica;
+
+import net.datastructures.CSRGraph;
+import net.datastructures.KShortestPaths;
+import net.datastructures.PathResult;
+import red.modelo.Equipo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Cálculo por lotes de las k rutas más cortas sin ciclos entre pares de equipos, para planificar
+ * rutas de respaldo. Los pares se agrupan por destino: para cada destino distinto se construye un
+ * único árbol de caminos mínimos inverso, que todas las búsquedas hacia ese destino comparten, y
+ * los grupos se reparten en paralelo sobre un ForkJoinPool.
+ */
+class RutasAlternativas {
+
+    /** Cantidad de destinos por debajo de la cual una tarea ya no se subdivide. */
+    private static final int UMBRAL_TAREA = 2;
+
+    private final CSRGraph<Equipo, Integer> instantanea;
+    private final int[] origenes;
+    private final int[] destinos;
+    private final int k;
+    private final List<List<PathResult<Equipo>>> resultados;
+    private int[] orden;                 // índices de los pares ordenados por destino
+    private int[] inicioGrupo;           // el grupo g ocupa orden[inicioGrupo[g] .. inicioGrupo[g + 1] - 1]
+
+    /**
+     * Prepara el cálculo. Los pares con origen o destino negativo se consideran inválidos
+     * y reciben una lista vacía.
+     *
+     * @param instantanea Instantánea CSR de la vista activa de latencias.
+     * @param origenes Identificador CSR del origen de cada par.
+     * @param destinos Identificador CSR del destino de cada par.
+     * @param k Cantidad máxima de rutas por par.
+     * Complejidad Temporal: O(pares).
+     */
+    RutasAlternativas(CSRGraph<Equipo, Integer> instantanea, int[] origenes, int[] destinos, int k) {
+        this.instantanea = instantanea;
+        this.origenes = origenes;
+        this.destinos = destinos;
+        this.k = k;
+        resultados = new ArrayList<>(Collections.nCopies(origenes.length, Collections.emptyList()));
+    }
+
+    /**
+     * Calcula las rutas de todos los pares.
+     *
+     * @param pool Pool de hilos donde se reparten los destinos.
+     * @return Para cada par, sus rutas de menor a mayor latencia.
+     * Complejidad Temporal: O(d (V + E) log V / P + pares · k · L · búsqueda), con d destinos distintos y
+     * L saltos por ruta; cada búsqueda es un A* guiado por el árbol inverso, o ninguna si la ruta del árbol
+     * sigue disponible.
+     */
+    List<List<PathResult<Equipo>>> calcular(ForkJoinPool pool) {
+        int n = instantanea.numVertices();
+        int[] cantidad = new int[n + 1];
+        int validos = 0;
+        for (int i = 0; i < destinos.length; i++) {
+            if (origenes[i] >= 0 && destinos[i] >= 0) {
+                cantidad[destinos[i] + 1]++;
+                validos++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            cantidad[v + 1] += cantidad[v];
+        }
+        orden = new int[validos];
+        int[] llenos = cantidad.clone();
+        for (int i = 0; i < destinos.length; i++) {
+            if (origenes[i] >= 0 && destinos[i] >= 0) {
+                orden[llenos[destinos[i]]++] = i;
+            }
+        }
+        int grupos = 0;
+        int[] inicios = new int[validos + 1];
+        for (int v = 0; v < n; v++) {
+            if (cantidad[v + 1] > cantidad[v]) {
+                inicios[grupos++] = cantidad[v];
+            }
+        }
+        inicios[grupos] = validos;
+        inicioGrupo = inicios;
+        if (grupos > 0) {
+            pool.invoke(new CalculoGrupos(0, grupos));
+        }
+        return resultados;
+    }
+
+    /**
+     * Tarea que resuelve un rango de grupos de pares con el mismo destino.
+     */
+    private class CalculoGrupos extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int desde;
+        private final int hasta;
+
+        CalculoGrupos(int desde, int hasta) {
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= UMBRAL_TAREA) {
+                for (int g = desde; g < hasta; g++) {
+                    int primero = orden[inicioGrupo[g]];
+                    KShortestPaths<Equipo> yen = new KShortestPaths<>(instantanea, destinos[primero]);
+                    for (int j = inicioGrupo[g]; j < inicioGrupo[g + 1]; j++) {
+                        int i = orden[j];
+                        List<PathResult<Equipo>> rutas = new ArrayList<>();
+                        for (PathResult<Equipo> ruta : yen.paths(origenes[i], k)) {
+                            rutas.add(ruta);
+                        }
+                        resultados.set(i, rutas);
+                    }
+                }
+            } else {
+                int medio = (desde + hasta) >>> 1;
+                invokeAll(new CalculoGrupos(desde, medio), new CalculoGrupos(medio, hasta));
+            }
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package red.logica;
+
+import net.datastructures.CSRGraph;
+import net.datastructures.GraphAlgorithms;
+import net.datastructures.LinkedPositionalList;
+import net.datastructures.PositionalList;
+import net.datastructures.Vertex;
+import red.modelo.Equipo;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Tabla de ruteo precalculada sobre la vista activa de latencias.
+ * Trabaja sobre una instantánea CSR de la vista, con identificadores densos para cada equipo.
+ * Para cada origen guarda el árbol de caminos mínimos como un arreglo compacto de predecesores
+ * (un int por equipo), de modo que un traceroute se resuelve recorriendo padres en O(saltos).
+ * Los árboles de todos los orígenes se calculan en paralelo sobre un ForkJoinPool.
+ */
+public class TablaRuteo {
+
+    /** Cantidad de orígenes por debajo de la cual una tarea ya no se subdivide. */
+    private static final int UMBRAL_TAREA = 8;
+
+    private final VistaActiva vista;
+    private final ForkJoinPool pool;
+
+    private long versionConstruida = -1;
+    private CSRGraph<Equipo, Integer> instantanea;
+    private int[][] padres;
+
+    /**
+     * Crea una tabla de ruteo vacía sobre la vista indicada, usando el pool común de Java.
+     *
+     * @param vista Vista activa con las latencias como peso.
+     * Complejidad Temporal: O(1).
+     */
+    public TablaRuteo(VistaActiva vista) {
+        this(vista, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Crea una tabla de ruteo vacía sobre la vista indicada.
+     *
+     * @param vista Vista activa con las latencias como peso.
+     * @param pool Pool de hilos donde se calculan los árboles de caminos mínimos.
+     * Complejidad Temporal: O(1).
+     */
+    public TablaRuteo(VistaActiva vista, ForkJoinPool pool) {
+        this.vista = vista;
+        this.pool = pool;
+    }
+
+    /**
+     * Descarta todos los árboles calculados. La próxima consulta vuelve a tomar una
+     * instantánea de la vista activa.
+     * Complejidad Temporal: O(1).
+     */
+    public void invalidar() {
+        versionConstruida = -1;
+        instantanea = null;
+        padres = null;
+    }
+
+    /**
+     * Indica si la tabla corresponde a la versión actual de la vista activa.
+     *
+     * @return true si la tabla está construida y vigente.
+     * Complejidad Temporal: O(1).
+     */
+    public boolean esValida() {
+        return padres != null && versionConstruida == vista.getVersion();
+    }
+
+    /**
+     * Reconstruye la tabla completa: calcula en paralelo el árbol de caminos mínimos
+     * desde cada equipo activo.
+     * Complejidad Temporal: O(V (V + E) log V / P), donde P es el paralelismo del pool.
+     */
+    public void reconstruir() {
+        asegurarInstantanea();
+        int[] todos = new int[instantanea.numVertices()];
+        for (int s = 0; s < todos.length; s++) {
+            todos[s] = s;
+        }
+        pool.invoke(new CalculoArboles(todos, 0, todos.length));
+    }
+
+    /**
+     * Calcula en paralelo los árboles de los orígenes indicados que todavía no estén en la tabla.
+     * Los orígenes repetidos, inactivos o ya calculados no generan trabajo.
+     *
+     * @param ipsOrigen Direcciones IP de los orígenes.
+     * @return Cantidad de ejecuciones de Dijkstra realizadas.
+     * Complejidad Temporal: O(k (V + E) log V / P), con k orígenes distintos sin calcular.
+     */
+    public int calcularOrigenes(Iterable<String> ipsOrigen) {
+        asegurarInstantanea();
+        boolean[] elegido = new boolean[instantanea.numVertices()];
+        int[] pendientes = new int[instantanea.numVertices()];
+        int cantidad = 0;
+        for (String ip : ipsOrigen) {
+            Vertex<Equipo> v = vista.getVertice(ip);
+            if (v != null) {
+                int s = instantanea.vertexId(v);
+                if (padres[s] == null && !elegido[s]) {
+                    elegido[s] = true;
+                    pendientes[cantidad++] = s;
+                }
+            }
+        }
+        if (cantidad > 0) {
+            pool.invoke(new CalculoArboles(pendientes, 0, cantidad));
+        }
+        return cantidad;
+    }
+
+    /**
+     * Devuelve la ruta entre dos equipos recorriendo el árbol precalculado del origen.
+     * Si el árbol de ese origen todavía no existe se calcula y se guarda.
+     *
+     * @param ipOrigen Dirección IP del equipo de origen.
+     * @param ipDestino Dirección IP del equipo de destino.
+     * @return La ruta desde el origen hasta el destino, o null si no hay camino.
+     * @throws IllegalArgumentException Si alguno de los equipos no está activo.
+     * Complejidad Temporal: O(saltos) si el árbol del origen ya está calculado,
+     * O((V + E) log V) en caso contrario.
+     */
+    public PositionalList<Vertex<Equipo>> ruta(String ipOrigen, String ipDestino) {
+        asegurarInstantanea();
+        Vertex<Equipo> vOrigen = vista.getVertice(ipOrigen);
+        Vertex<Equipo> vDestino = vista.getVertice(ipDestino);
+        if (vOrigen == null || vDestino == null) {
+            throw new IllegalArgumentException("Uno o ambos equipos no se encuentran activos o no existen en la red.");
+        }
+        int origen = instantanea.vertexId(vOrigen);
+        int destino = instantanea.vertexId(vDestino);
+        int[] padre = padres[origen];
+        if (padre == null) {
+            padre = padres[origen] = dijkstra(origen);
+        }
+        if (padre[destino] < 0) {
+            return null;
+        }
+
+        PositionalList<Vertex<Equipo>> camino = new LinkedPositionalList<>();
+        int actual = destino;
+        while (actual != origen) {
+            camino.addFirst(instantanea.vertexAt(actual));
+            actual = padre[actual];
+        }
+        camino.addFirst(instantanea.vertexAt(origen));
+        return camino;
+    }
+
+    /**
+     * Indica si el árbol de un origen ya está calculado en la tabla vigente.
+     *
+     * @param ipOrigen Dirección IP del equipo de origen.
+     * @return true si el árbol está disponible.
+     * Complejidad Temporal: O(1).
+     */
+    public boolean tieneOrigen(String ipOrigen) {
+        if (!esValida()) {
+            return false;
+        }
+        Vertex<Equipo> v = vista.getVertice(ipOrigen);
+        return v != null && padres[instantanea.vertexId(v)] != null;
+    }
+
+    /**
+     * Memoria ocupada por el arreglo de predecesores de un único origen.
+     *
+     * @return Bytes usados por cada origen (cabecera del arreglo más un int por equipo).
+     * Complejidad Temporal: O(1).
+     */
+    public long memoriaPorOrigen() {
+        int n = (instantanea == null) ? vista.getGrafo().numVertices() : instantanea.numVertices();
+        return 16L + 4L * n;
+    }
+
+    /**
+     * Memoria total ocupada por los árboles calculados hasta el momento.
+     *
+     * @return Bytes usados por todos los arreglos de predecesores.
+     * Complejidad Temporal: O(V).
+     */
+    public long memoriaTotal() {
+        if (padres == null) {
+            return 0;
+        }
+        long total = 0;
+        for (int[] padre : padres) {
+            if (padre != null) {
+                total += memoriaPorOrigen();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Toma la instantánea CSR de la vista activa si la tabla no está vigente.
+     * Complejidad Temporal: O(V + E).
+     */
+    private void asegurarInstantanea() {
+        if (esValida()) {
+            return;
+        }
+        instantanea = vista.getInstantanea();
+        padres = new int[instantanea.numVertices()][];
+        versionConstruida = vista.getVersion();
+    }
+
+    /**
+     * Ejecuta Dijkstra sobre la instantánea CSR desde un origen.
+     *
+     * @param origen Identificador del origen.
+     * @return Arreglo de predecesores; el origen es su propio padre y -1 indica inalcanzable.
+     * Complejidad Temporal: O((V + E) log V).
+     */
+    private int[] dijkstra(int origen) {
+        int[] padre = new int[instantanea.numVertices()];
+        GraphAlgorithms.shortestPathLengths(instantanea, origen, padre);
+        return padre;
+    }
+
+    /**
+     * Tarea que divide un rango del arreglo de orígenes en mitades hasta un umbral y calcula
+     * el árbol de caminos mínimos de cada origen del rango.
+     */
+    private class CalculoArboles extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int[] origenes;
+        private final int desde;
+        private final int hasta;
+
+        CalculoArboles(int[] origenes, int desde, int hasta) {
+            this.origenes = origenes;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= UMBRAL_TAREA) {
+                for (int j = desde; j < hasta; j++) {
+                    int s = origenes[j];
+                    if (padres[s] == null) {
+                        padres[s] = dijkstra(s);
+                    }
+                }
+            } else {
+                int medio = (desde + hasta) >>> 1;
+                invokeAll(new CalculoArboles(origenes, desde, medio), new CalculoArboles(origenes, medio, hasta));
+            }
+        }
+    }
+}
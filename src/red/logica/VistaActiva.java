@@ -0,0 +1,175 @@
+package red.logica;
+
+import net.datastructures.AdjacencyMapGraph;
+import net.datastructures.CSRGraph;
+import net.datastructures.Edge;
+import net.datastructures.Graph;
+import net.datastructures.Vertex;
+import red.modelo.Conexion;
+import red.modelo.Equipo;
+
+import java.util.HashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Subgrafo de larga vida que contiene únicamente los equipos y conexiones activos de la red.
+ * El peso de cada arista se obtiene de la conexión mediante una función (latencia, ancho de banda, etc.).
+ * En lugar de reconstruirse en cada consulta, se actualiza de forma incremental cuando cambia
+ * el estado de un equipo o de una conexión.
+ */
+public class VistaActiva {
+
+    private final Graph<Equipo, Conexion> red;
+    private final Graph<Equipo, Integer> grafo;
+    private final HashMap<String, Vertex<Equipo>> activos;
+    private final ToIntFunction<Conexion> peso;
+    private long version;
+    private CSRGraph<Equipo, Integer> instantanea;
+    private long versionInstantanea = -1;
+
+    /**
+     * Construye la vista a partir del grafo completo de la red.
+     *
+     * @param red Grafo completo de la red con todos sus equipos y conexiones.
+     * @param peso Función que obtiene el peso de la arista a partir de la conexión.
+     * Complejidad Temporal: O(V + E), se recorre una única vez todo el grafo original.
+     */
+    public VistaActiva(Graph<Equipo, Conexion> red, ToIntFunction<Conexion> peso) {
+        this.red = red;
+        this.peso = peso;
+        this.grafo = new AdjacencyMapGraph<>(false);
+        this.activos = new HashMap<>();
+
+        for (Vertex<Equipo> v : red.vertices()) {
+            if (v.getElement().isStatus()) {
+                activos.put(v.getElement().getIpAddress(), grafo.insertVertex(v.getElement()));
+            }
+        }
+
+        for (Edge<Conexion> e : red.edges()) {
+            insertarSiActiva(e.getElement());
+        }
+    }
+
+    /**
+     * Obtiene el grafo con los elementos activos. No debe modificarse desde afuera.
+     *
+     * @return Grafo no dirigido con los equipos y conexiones activos.
+     * Complejidad Temporal: O(1).
+     */
+    public Graph<Equipo, Integer> getGrafo() {
+        return grafo;
+    }
+
+    /**
+     * Obtiene una instantánea CSR de solo lectura de la vista, compartida por los motores
+     * que trabajan con identificadores densos. Se reconstruye solo si la vista cambió.
+     *
+     * @return Instantánea CSR correspondiente a la versión actual.
+     * Complejidad Temporal: O(1) si la vista no cambió, O(V + E) en caso contrario.
+     */
+    public CSRGraph<Equipo, Integer> getInstantanea() {
+        if (instantanea == null || versionInstantanea != version) {
+            instantanea = new CSRGraph<>(grafo, p -> p);
+            versionInstantanea = version;
+        }
+        return instantanea;
+    }
+
+    /**
+     * Obtiene el vértice de la vista asociado a una dirección IP.
+     *
+     * @param ip Dirección IP del equipo.
+     * @return El vértice de la vista, o null si el equipo no existe o no está activo.
+     * Complejidad Temporal: O(1).
+     */
+    public Vertex<Equipo> getVertice(String ip) {
+        return activos.get(ip);
+    }
+
+    /**
+     * Obtiene la versión de la vista; se incrementa con cada cambio efectivo.
+     *
+     * @return Número de versión actual.
+     * Complejidad Temporal: O(1).
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Incorpora a la vista un equipo que pasó a estar activo junto con sus conexiones activas.
+     *
+     * @param v Vértice del equipo en el grafo completo de la red.
+     * Complejidad Temporal: O(grado(v)).
+     */
+    void activarEquipo(Vertex<Equipo> v) {
+        Equipo equipo = v.getElement();
+        if (activos.containsKey(equipo.getIpAddress())) {
+            return;
+        }
+        activos.put(equipo.getIpAddress(), grafo.insertVertex(equipo));
+        for (Edge<Conexion> e : red.outgoingEdges(v)) {
+            insertarSiActiva(e.getElement());
+        }
+        version++;
+    }
+
+    /**
+     * Quita de la vista un equipo que pasó a estar inactivo junto con todas sus aristas.
+     *
+     * @param equipo Equipo desactivado.
+     * Complejidad Temporal: O(grado(v)).
+     */
+    void desactivarEquipo(Equipo equipo) {
+        Vertex<Equipo> v = activos.remove(equipo.getIpAddress());
+        if (v != null) {
+            grafo.removeVertex(v);
+            version++;
+        }
+    }
+
+    /**
+     * Vuelve a evaluar una conexión tras un cambio de estado o de peso:
+     * la quita de la vista y la vuelve a insertar si corresponde. La versión solo avanza si
+     * efectivamente se quitó o se insertó una arista.
+     *
+     * @param c Conexión modificada.
+     * Complejidad Temporal: O(1).
+     */
+    void actualizarConexion(Conexion c) {
+        boolean cambio = false;
+        Vertex<Equipo> v1 = activos.get(c.getSource().getIpAddress());
+        Vertex<Equipo> v2 = activos.get(c.getTarget().getIpAddress());
+        if (v1 != null && v2 != null) {
+            Edge<Integer> actual = grafo.getEdge(v1, v2);
+            if (actual != null) {
+                grafo.removeEdge(actual);
+                cambio = true;
+            }
+        }
+        if (insertarSiActiva(c) || cambio) {
+            version++;
+        }
+    }
+
+    /**
+     * Inserta la arista de la conexión si está activa y ambos extremos están en la vista.
+     *
+     * @param c Conexión a evaluar.
+     * @return true si se insertó la arista.
+     * Complejidad Temporal: O(1).
+     */
+    private boolean insertarSiActiva(Conexion c) {
+        if (!c.isStatus()) {
+            return false;
+        }
+        Vertex<Equipo> v1 = activos.get(c.getSource().getIpAddress());
+        Vertex<Equipo> v2 = activos.get(c.getTarget().getIpAddress());
+        if (v1 != null && v2 != null && grafo.getEdge(v1, v2) == null) {
+            grafo.insertEdge(v1, v2, peso.applyAsInt(c));
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,76 @@
+package red.test;
+
+import net.datastructures.AdjacencyMapGraph;
+import net.datastructures.Graph;
+import net.datastructures.GraphAlgorithms;
+import net.datastructures.Vertex;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Perfil de asignaciones de los algoritmos de GraphAlgorithms sobre grafos generados:
+ * bytes reservados en el heap y tiempo por llamada de shortestPathLengths, maxFlow,
+ * topologicalSort y MST. Mide con el contador de bytes por hilo de la JVM
+ * (com.sun.management.ThreadMXBean), disponible en HotSpot.
+ *
+ * Uso: java red.test.BenchmarkAsignaciones [vértices] [grado] [repeticiones]
+ */
+public class BenchmarkAsignaciones {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int grado = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int repeticiones = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        Random azar = new Random(42);
+        Graph<Integer, Integer> red = new AdjacencyMapGraph<>(false);
+        Graph<Integer, Integer> dag = new AdjacencyMapGraph<>(true);
+        @SuppressWarnings("unchecked")
+        Vertex<Integer>[] nodos = new Vertex[n];
+        @SuppressWarnings("unchecked")
+        Vertex<Integer>[] tareas = new Vertex[n];
+        for (int i = 0; i < n; i++) {
+            nodos[i] = red.insertVertex(i);
+            tareas[i] = dag.insertVertex(i);
+        }
+        for (int i = 1; i < n; i++) {
+            red.insertEdge(nodos[i], nodos[azar.nextInt(i)], 1 + azar.nextInt(100));   // conexo
+        }
+        for (int k = 0; k < n * (grado - 1); k++) {
+            int a = azar.nextInt(n), b = azar.nextInt(n);
+            if (a != b && red.getEdge(nodos[a], nodos[b]) == null) {
+                red.insertEdge(nodos[a], nodos[b], 1 + azar.nextInt(100));
+            }
+            int x = Math.min(a, b), y = Math.max(a, b);
+            if (x != y && dag.getEdge(tareas[x], tareas[y]) == null) {
+                dag.insertEdge(tareas[x], tareas[y], 1);
+            }
+        }
+        System.out.printf("%d vértices, %d conexiones; promedio de %d repeticiones%n", n, red.numEdges(), repeticiones);
+        System.out.printf("%-22s %14s %10s%n", "Algoritmo", "bytes/llamada", "ms/llamada");
+        medir("shortestPathLengths", () -> GraphAlgorithms.shortestPathLengths(red, nodos[0]).size(), hilos, repeticiones);
+        medir("maxFlow", () -> GraphAlgorithms.maxFlow(red, nodos[0], nodos[n - 1]), hilos, repeticiones);
+        medir("topologicalSort", () -> GraphAlgorithms.topologicalSort(dag).size(), hilos, repeticiones);
+        medir("MST", () -> GraphAlgorithms.MST(red).size(), hilos, repeticiones);
+    }
+
+    private static void medir(String nombre, java.util.function.IntSupplier algoritmo,
+                              com.sun.management.ThreadMXBean hilos, int repeticiones) {
+        long control = 0;
+        for (int r = 0; r < 3; r++) {                       // calentamiento
+            control += algoritmo.getAsInt();
+        }
+        long hilo = Thread.currentThread().getId();
+        long bytes = hilos.getThreadAllocatedBytes(hilo);
+        long inicio = System.nanoTime();
+        for (int r = 0; r < repeticiones; r++) {
+            control += algoritmo.getAsInt();
+        }
+        long tiempo = System.nanoTime() - inicio;
+        bytes = hilos.getThreadAllocatedBytes(hilo) - bytes;
+        System.out.printf("%-22s %14d %10.1f   (control %d)%n",
+                nombre, bytes / repeticiones, tiempo / 1e6 / repeticiones, control);
+    }
+}
@@ -0,0 +1,118 @@
+package red.test;
+
+import net.datastructures.AdjacencyMapGraph;
+import net.datastructures.CSRGraph;
+import net.datastructures.Edge;
+import net.datastructures.Graph;
+import net.datastructures.GraphAlgorithms;
+import net.datastructures.Vertex;
+
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+/**
+ * Benchmark de los recorridos sobre CSRGraph frente a los mismos algoritmos sobre
+ * AdjacencyMapGraph: Dijkstra desde un origen, Kruskal y BFS de todas las componentes.
+ * El grafo es sintético, con routers enlazados al azar y computadoras hoja colgadas de
+ * ellos. Cada medición se repite varias veces y se informa la mejor, descartando las
+ * primeras rondas como calentamiento; la columna de control debe coincidir en ambas
+ * representaciones (suma de distancias, peso del árbol y cantidad de aristas del bosque BFS).
+ *
+ * No usa JMH porque el proyecto no tiene un manifiesto de build que lo incorpore.
+ *
+ * Uso: java red.test.BenchmarkCSR [routers] [computadoras] [repeticiones]
+ */
+public class BenchmarkCSR {
+
+    public static void main(String[] args) {
+        int routers = args.length > 0 ? Integer.parseInt(args[0]) : 8_000;
+        int computadoras = args.length > 1 ? Integer.parseInt(args[1]) : 48_000;
+        int repeticiones = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        Random azar = new Random(42);
+        Graph<Integer, Integer> red = new AdjacencyMapGraph<>(false);
+        @SuppressWarnings("unchecked")
+        Vertex<Integer>[] nodos = new Vertex[routers + computadoras];
+        for (int i = 0; i < nodos.length; i++) {
+            nodos[i] = red.insertVertex(i);
+        }
+        for (int i = 1; i < routers; i++) {                  // troncal conexa entre routers
+            red.insertEdge(nodos[i], nodos[azar.nextInt(i)], 1 + azar.nextInt(100));
+        }
+        for (int k = 0; k < 5 * routers; k++) {              // enlaces troncales adicionales
+            int a = azar.nextInt(routers), b = azar.nextInt(routers);
+            if (a != b && red.getEdge(nodos[a], nodos[b]) == null) {
+                red.insertEdge(nodos[a], nodos[b], 1 + azar.nextInt(100));
+            }
+        }
+        for (int i = routers; i < nodos.length; i++) {       // cada computadora cuelga de un router
+            red.insertEdge(nodos[i], nodos[azar.nextInt(routers)], 1 + azar.nextInt(10));
+        }
+        CSRGraph<Integer, Integer> csr = new CSRGraph<>(red, p -> p);
+        Vertex<Integer> origen = nodos[0];
+        int idOrigen = csr.vertexId(origen);
+
+        System.out.printf("%d vértices, %d conexiones; mejor de %d repeticiones (ms)%n",
+                red.numVertices(), red.numEdges(), repeticiones);
+        System.out.printf("%-10s %18s %10s %8s%n", "Algoritmo", "AdjacencyMapGraph", "CSRGraph", "razón");
+        comparar("Dijkstra", repeticiones,
+                () -> {
+                    long suma = 0;
+                    for (int d : GraphAlgorithms.shortestPathLengths(red, origen).values()) {
+                        suma += d;
+                    }
+                    return suma;
+                },
+                () -> {
+                    long suma = 0;
+                    for (int d : GraphAlgorithms.shortestPathLengths(csr, idOrigen, null)) {
+                        if (d != Integer.MAX_VALUE) {
+                            suma += d;
+                        }
+                    }
+                    return suma;
+                });
+        comparar("Kruskal", repeticiones,
+                () -> peso(GraphAlgorithms.MST(red)),
+                () -> peso(GraphAlgorithms.MST(csr)));
+        comparar("BFS", repeticiones,
+                () -> GraphAlgorithms.BFSComplete(red).size(),
+                () -> {
+                    boolean[] conocidos = new boolean[csr.numVertices()];
+                    int[] bosque = new int[csr.numVertices()];
+                    long raices = 0;
+                    for (int v = 0; v < csr.numVertices(); v++) {
+                        if (!conocidos[v]) {
+                            GraphAlgorithms.BFS(csr, v, conocidos, bosque);
+                            raices++;
+                        }
+                    }
+                    return csr.numVertices() - raices;
+                });
+    }
+
+    private static long peso(Iterable<Edge<Integer>> aristas) {
+        long total = 0;
+        for (Edge<Integer> e : aristas) {
+            total += e.getElement();
+        }
+        return total;
+    }
+
+    private static void comparar(String nombre, int repeticiones, LongSupplier mapa, LongSupplier csr) {
+        double[] mejor = {Double.MAX_VALUE, Double.MAX_VALUE};
+        long[] control = new long[2];
+        LongSupplier[] variantes = {mapa, csr};
+        for (int r = 0; r < repeticiones + 2; r++) {         // las dos primeras son de calentamiento
+            for (int k = 0; k < 2; k++) {
+                long inicio = System.nanoTime();
+                control[k] = variantes[k].getAsLong();
+                double ms = (System.nanoTime() - inicio) / 1e6;
+                if (r >= 2) {
+                    mejor[k] = Math.min(mejor[k], ms);
+                }
+            }
+        }
+        System.out.printf("%-10s %18.2f %10.2f %7.1fx   (control %d / %d)%n",
+                nombre, mejor[0], mejor[1], mejor[0] / mejor[1], control[0], control[1]);
+    }
+}
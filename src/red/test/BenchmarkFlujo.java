@@ -0,0 +1,149 @@
+package red.test;
+
+import net.datastructures.AdjacencyMapGraph;
+import net.datastructures.CSRGraph;
+import net.datastructures.Edge;
+import net.datastructures.FlowNetwork;
+import net.datastructures.Graph;
+import net.datastructures.GraphAlgorithms;
+import net.datastructures.IndexedGraph;
+import net.datastructures.Vertex;
+
+import java.util.Random;
+
+/**
+ * Benchmark de flujo máximo sobre mallas generadas.
+ * Compara la versión original de Edmonds-Karp de GraphAlgorithms, conservada aquí como
+ * referencia, con Dinic y push-relabel de FlowNetwork y con GraphAlgorithms.maxFlow, que
+ * incluye la copia a una instantánea CSR. Dinic, push-relabel y maxFlow deben coincidir;
+ * la versión original no tiene arcos residuales inversos, por lo que su valor puede quedar
+ * por debajo del máximo.
+ *
+ * Uso: java red.test.BenchmarkFlujo [lado] [repeticiones]
+ */
+public class BenchmarkFlujo {
+
+    public static void main(String[] args) {
+        int lado = args.length > 0 ? Integer.parseInt(args[0]) : 60;
+        int repeticiones = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        for (boolean dirigida : new boolean[]{true, false}) {
+            AdjacencyMapGraph<Integer, Integer> malla = generarMalla(lado, dirigida, 42);
+            Vertex<Integer> fuente = null, sumidero = null;
+            for (Vertex<Integer> v : malla.vertices()) {
+                if (v.getElement() == 0) fuente = v;
+                if (v.getElement() == lado * lado - 1) sumidero = v;
+            }
+            CSRGraph<Integer, Integer> instantanea = new CSRGraph<>(malla, c -> c);
+            FlowNetwork<Integer> residual = new FlowNetwork<>(instantanea);
+            int s = instantanea.vertexId(fuente);
+            int t = instantanea.vertexId(sumidero);
+
+            System.out.printf("Malla %s de %dx%d (%d equipos, %d conexiones)%n",
+                    dirigida ? "dirigida" : "no dirigida", lado, lado, malla.numVertices(), malla.numEdges());
+            long valor = 0;
+            long inicio = System.nanoTime();
+            for (int r = 0; r < repeticiones; r++) valor = edmondsKarpSinInversos(malla, fuente, sumidero);
+            mostrar("Edmonds-Karp", valor, inicio, repeticiones);
+            inicio = System.nanoTime();
+            for (int r = 0; r < repeticiones; r++) valor = residual.dinic(s, t);
+            mostrar("Dinic", valor, inicio, repeticiones);
+            inicio = System.nanoTime();
+            for (int r = 0; r < repeticiones; r++) valor = residual.pushRelabel(s, t);
+            mostrar("Push-relabel", valor, inicio, repeticiones);
+            inicio = System.nanoTime();
+            for (int r = 0; r < repeticiones; r++) valor = GraphAlgorithms.maxFlow(malla, fuente, sumidero);
+            mostrar("maxFlow", valor, inicio, repeticiones);
+        }
+    }
+
+    /**
+     * Genera una malla cuadrada con capacidades aleatorias entre vecinos horizontales y verticales.
+     * En la versión dirigida cada par de vecinos tiene una conexión por sentido con capacidades distintas.
+     */
+    private static AdjacencyMapGraph<Integer, Integer> generarMalla(int lado, boolean dirigida, long semilla) {
+        Random azar = new Random(semilla);
+        AdjacencyMapGraph<Integer, Integer> malla = new AdjacencyMapGraph<>(dirigida);
+        @SuppressWarnings("unchecked")
+        Vertex<Integer>[] nodos = new Vertex[lado * lado];
+        for (int i = 0; i < nodos.length; i++) {
+            nodos[i] = malla.insertVertex(i);
+        }
+        for (int f = 0; f < lado; f++) {
+            for (int c = 0; c < lado; c++) {
+                int u = f * lado + c;
+                if (c + 1 < lado) conectar(malla, nodos[u], nodos[u + 1], dirigida, azar);
+                if (f + 1 < lado) conectar(malla, nodos[u], nodos[u + lado], dirigida, azar);
+            }
+        }
+        return malla;
+    }
+
+    private static void conectar(Graph<Integer, Integer> malla, Vertex<Integer> a, Vertex<Integer> b,
+                                 boolean dirigida, Random azar) {
+        malla.insertEdge(a, b, 1 + azar.nextInt(100));
+        if (dirigida) {
+            malla.insertEdge(b, a, 1 + azar.nextInt(100));
+        }
+    }
+
+    /**
+     * Edmonds-Karp tal como estaba en GraphAlgorithms antes de delegar en FlowNetwork: guarda un único
+     * valor de flujo por arista y no tiene arcos residuales inversos, así que no puede deshacer flujo
+     * ya enviado. Usa los ids densos del grafo para el flujo, los padres y las visitas.
+     */
+    private static <V> int edmondsKarpSinInversos(IndexedGraph<V, Integer> g, Vertex<V> source, Vertex<V> sink) {
+        int maxFlow = 0;
+        int n = g.numVertices();
+        int[] flow = new int[g.numEdges()];
+        @SuppressWarnings("unchecked")
+        Edge<Integer>[] parentEdge = new Edge[n];
+        int[] visited = new int[n];             // visited[v] == ronda si v ya fue visitado en esta ronda
+        int[] queue = new int[n];
+        int s = g.vertexId(source);
+        int t = g.vertexId(sink);
+
+        for (int ronda = 1; ; ronda++) {
+            int head = 0, tail = 0;
+            queue[tail++] = s;
+            visited[s] = ronda;
+
+            boolean pathFound = false;
+            while (head < tail) {
+                int u = queue[head++];
+                if (u == t) {
+                    pathFound = true;
+                    break;
+                }
+                Vertex<V> uv = g.vertexAt(u);
+                for (Edge<Integer> e : g.outgoingEdges(uv)) {
+                    int v = g.vertexId(g.opposite(uv, e));
+                    int residual = e.getElement() - flow[g.edgeId(e)];
+                    if (residual > 0 && visited[v] != ronda) {
+                        visited[v] = ronda;
+                        parentEdge[v] = e;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+            if (!pathFound) {
+                break;
+            }
+
+            int pathFlow = Integer.MAX_VALUE;
+            for (int curr = t; curr != s; curr = g.vertexId(g.opposite(g.vertexAt(curr), parentEdge[curr]))) {
+                Edge<Integer> edge = parentEdge[curr];
+                pathFlow = Math.min(pathFlow, edge.getElement() - flow[g.edgeId(edge)]);
+            }
+            for (int curr = t; curr != s; curr = g.vertexId(g.opposite(g.vertexAt(curr), parentEdge[curr]))) {
+                flow[g.edgeId(parentEdge[curr])] += pathFlow;
+            }
+            maxFlow += pathFlow;
+        }
+        return maxFlow;
+    }
+
+    private static void mostrar(String motor, long valor, long inicio, int repeticiones) {
+        double ms = (System.nanoTime() - inicio) / 1e6 / repeticiones;
+        System.out.printf("  %-13s flujo=%-8d %10.2f ms%n", motor, valor, ms);
+    }
+}
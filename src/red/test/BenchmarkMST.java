@@ -0,0 +1,89 @@
+package red.test;
+
+import net.datastructures.AdjacencyMapGraph;
+import net.datastructures.DynamicMinimumSpanningForest;
+import net.datastructures.Edge;
+import net.datastructures.Graph;
+import net.datastructures.GraphAlgorithms;
+import net.datastructures.Vertex;
+
+import java.util.Random;
+
+/**
+ * Benchmark del bosque de expansión mínima mantenido frente a recalcular Kruskal.
+ * Sobre un grafo aleatorio conexo aplica cambios de latencia, bajas y altas de conexiones,
+ * reparando el bosque tras cada uno, y compara el costo medio por cambio con una ejecución
+ * completa de Kruskal. Al final verifica que ambos pesos totales coincidan.
+ *
+ * Uso: java red.test.BenchmarkMST [equipos] [conexiones] [cambios]
+ */
+public class BenchmarkMST {
+
+    public static void main(String[] args) {
+        int equipos = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int conexiones = args.length > 1 ? Integer.parseInt(args[1]) : 100000;
+        int cambios = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+        Random azar = new Random(42);
+        Graph<Integer, Integer> red = new AdjacencyMapGraph<>(false);
+        @SuppressWarnings("unchecked")
+        Vertex<Integer>[] nodos = new Vertex[equipos];
+        for (int i = 0; i < equipos; i++) {
+            nodos[i] = red.insertVertex(i);
+            if (i > 0) {
+                red.insertEdge(nodos[i], nodos[azar.nextInt(i)], 1 + azar.nextInt(1000));
+            }
+        }
+        while (red.numEdges() < conexiones) {
+            Vertex<Integer> a = nodos[azar.nextInt(equipos)], b = nodos[azar.nextInt(equipos)];
+            if (a != b && red.getEdge(a, b) == null) {
+                red.insertEdge(a, b, 1 + azar.nextInt(1000));
+            }
+        }
+        System.out.printf("Red de %d equipos y %d conexiones%n", red.numVertices(), red.numEdges());
+
+        long inicio = System.nanoTime();
+        long pesoKruskal = peso(red);
+        double msKruskal = (System.nanoTime() - inicio) / 1e6;
+        System.out.printf("  Kruskal completo      %10.2f ms (peso %d)%n", msKruskal, pesoKruskal);
+
+        inicio = System.nanoTime();
+        DynamicMinimumSpanningForest<Integer> bosque = new DynamicMinimumSpanningForest<>(red);
+        System.out.printf("  Construcción inicial  %10.2f ms%n", (System.nanoTime() - inicio) / 1e6);
+
+        long inicioCambios = System.nanoTime();
+        for (int i = 0; i < cambios; i++) {
+            Vertex<Integer> a = nodos[azar.nextInt(equipos)], b = nodos[azar.nextInt(equipos)];
+            if (i % 2 == 0) {                       // cambio de latencia de una conexión existente
+                Edge<Integer> e = red.outgoingEdges(a).iterator().next();
+                b = red.opposite(a, e);
+                red.removeEdge(e);
+                red.insertEdge(a, b, 1 + azar.nextInt(1000));
+            } else if (a != b) {                    // alta o baja de una conexión
+                Edge<Integer> e = red.getEdge(a, b);
+                if (e != null) {
+                    red.removeEdge(e);
+                } else {
+                    red.insertEdge(a, b, 1 + azar.nextInt(1000));
+                }
+            } else {
+                continue;
+            }
+            bosque.edgeUpdated(a, b);
+        }
+        double usPorCambio = (System.nanoTime() - inicioCambios) / 1e3 / cambios;
+        System.out.printf("  Reparación por cambio %10.2f µs (%d cambios, %.0fx más rápido que Kruskal)%n",
+                usPorCambio, cambios, msKruskal * 1e3 / usPorCambio);
+
+        long esperado = peso(red);
+        System.out.printf("  Peso mantenido %d, peso recalculado %d: %s%n", bosque.getTotalWeight(), esperado,
+                bosque.getTotalWeight() == esperado ? "coinciden" : "NO COINCIDEN");
+    }
+
+    private static long peso(Graph<Integer, Integer> red) {
+        long total = 0;
+        for (Edge<Integer> e : GraphAlgorithms.MST(red)) {
+            total += e.getElement();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,93 @@
+package red.test;
+
+import net.datastructures.AdjacencyMapGraph;
+import net.datastructures.ChainHashMap;
+import net.datastructures.Graph;
+import net.datastructures.Map;
+import net.datastructures.ProbeHashMap;
+import net.datastructures.RobinHoodHashMap;
+import net.datastructures.Vertex;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Benchmark de los mapas hash con claves de vértices, como los que usan GraphAlgorithms y
+ * AdjacencyMapGraph. Compara ProbeHashMap, ChainHashMap y RobinHoodHashMap en inserciones,
+ * búsquedas exitosas y fallidas, y en rondas de bajas y altas que en ProbeHashMap acumulan
+ * marcas de celdas eliminadas. Cada medición se repite varias veces y se informa la mejor,
+ * descartando las primeras rondas como calentamiento.
+ *
+ * Uso: java red.test.BenchmarkMapas [vértices] [repeticiones]
+ */
+public class BenchmarkMapas {
+
+    public static void main(String[] args) {
+        int cantidad = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int repeticiones = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        Graph<Integer, Integer> grafo = new AdjacencyMapGraph<>(false);
+        @SuppressWarnings("unchecked")
+        Vertex<Integer>[] claves = new Vertex[cantidad];
+        @SuppressWarnings("unchecked")
+        Vertex<Integer>[] ausentes = new Vertex[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            claves[i] = grafo.insertVertex(i);
+            ausentes[i] = grafo.insertVertex(-i);
+        }
+        Random azar = new Random(42);
+        for (int i = cantidad - 1; i > 0; i--) {            // orden de consulta aleatorio
+            int j = azar.nextInt(i + 1);
+            Vertex<Integer> x = claves[i];
+            claves[i] = claves[j];
+            claves[j] = x;
+        }
+
+        System.out.printf("%d vértices como claves, mejor de %d repeticiones (ms)%n", cantidad, repeticiones);
+        System.out.printf("%-18s %10s %10s %10s %10s%n", "Mapa", "put", "get", "get fallido", "bajas/altas");
+        medir("ProbeHashMap", ProbeHashMap::new, claves, ausentes, repeticiones);
+        medir("ChainHashMap", ChainHashMap::new, claves, ausentes, repeticiones);
+        medir("RobinHoodHashMap", RobinHoodHashMap::new, claves, ausentes, repeticiones);
+    }
+
+    private static void medir(String nombre, Supplier<Map<Vertex<Integer>, Integer>> crear,
+                              Vertex<Integer>[] claves, Vertex<Integer>[] ausentes, int repeticiones) {
+        double[] mejor = {Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE};
+        long control = 0;
+        for (int r = 0; r < repeticiones + 2; r++) {         // las dos primeras son de calentamiento
+            long[] marcas = new long[5];
+            marcas[0] = System.nanoTime();
+            Map<Vertex<Integer>, Integer> mapa = crear.get();
+            for (int i = 0; i < claves.length; i++) {
+                mapa.put(claves[i], i);
+            }
+            marcas[1] = System.nanoTime();
+            for (Vertex<Integer> v : claves) {
+                control += mapa.get(v);
+            }
+            marcas[2] = System.nanoTime();
+            for (Vertex<Integer> v : ausentes) {
+                if (mapa.get(v) != null) control++;
+            }
+            marcas[3] = System.nanoTime();
+            for (int ronda = 0; ronda < 4; ronda++) {         // quita y vuelve a poner la mitad de las claves
+                for (int i = ronda & 1; i < claves.length; i += 2) {
+                    mapa.remove(claves[i]);
+                }
+                for (int i = ronda & 1; i < claves.length; i += 2) {
+                    mapa.put(claves[i], i);
+                }
+            }
+            for (Vertex<Integer> v : claves) {
+                control += mapa.get(v);
+            }
+            marcas[4] = System.nanoTime();
+            if (r >= 2) {
+                for (int k = 0; k < 4; k++) {
+                    mejor[k] = Math.min(mejor[k], (marcas[k + 1] - marcas[k]) / 1e6);
+                }
+            }
+        }
+        System.out.printf("%-18s %10.1f %10.1f %10.1f %10.1f   (control %d)%n",
+                nombre, mejor[0], mejor[1], mejor[2], mejor[3], control);
+    }
+}
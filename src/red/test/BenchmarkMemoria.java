@@ -0,0 +1,87 @@
+package red.test;
+
+import net.datastructures.AdjacencyMapGraph;
+import net.datastructures.Graph;
+import net.datastructures.Vertex;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Random;
+
+/**
+ * Huella en el heap de AdjacencyMapGraph sobre una topología sintética parecida a las de
+ * la red: unos pocos routers enlazados entre sí (un anillo más enlaces al azar) y muchas
+ * computadoras hoja colgadas de un router, algunas de dos. Mide el heap ocupado después de
+ * una recolección antes de crear el grafo, con solo los vértices y con todas las aristas, e
+ * informa los bytes por vértice (vértice, posición en la lista y mapas de adyacencia vacíos)
+ * y por arista (arista, posición y entradas en los mapas, incluido su crecimiento), para
+ * grafos no dirigidos y dirigidos.
+ *
+ * Uso: java red.test.BenchmarkMemoria [vértices] [% routers]
+ * Con 1.000.000 de vértices conviene dar heap suficiente, por ejemplo -Xmx2g.
+ */
+public class BenchmarkMemoria {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int porcentajeRouters = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int routers = Math.max(2, n * porcentajeRouters / 100);
+        MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+
+        System.out.printf("%d vértices (%d routers, %d computadoras)%n", n, routers, n - routers);
+        System.out.printf("%-12s %10s %14s %14s%n", "Grafo", "aristas", "bytes/vértice", "bytes/arista");
+        medir("no dirigido", false, n, routers, memoria);
+        medir("dirigido", true, n, routers, memoria);
+    }
+
+    private static void medir(String nombre, boolean dirigido, int n, int routers, MemoryMXBean memoria) {
+        Random azar = new Random(42);
+        long base = ocupado(memoria);
+        Graph<Integer, Integer> grafo = new AdjacencyMapGraph<>(dirigido);
+        @SuppressWarnings("unchecked")
+        Vertex<Integer>[] nodos = new Vertex[n];
+        for (int i = 0; i < n; i++) {
+            nodos[i] = grafo.insertVertex(i);
+        }
+        long conVertices = ocupado(memoria);
+
+        for (int i = 0; i < routers; i++) {                  // anillo de routers
+            grafo.insertEdge(nodos[i], nodos[(i + 1) % routers], 1 + azar.nextInt(100));
+        }
+        for (int k = 0; k < 2 * routers; k++) {              // enlaces troncales al azar
+            int a = azar.nextInt(routers), b = azar.nextInt(routers);
+            if (a != b && grafo.getEdge(nodos[a], nodos[b]) == null
+                    && grafo.getEdge(nodos[b], nodos[a]) == null) {
+                grafo.insertEdge(nodos[a], nodos[b], 1 + azar.nextInt(100));
+            }
+        }
+        for (int i = routers; i < n; i++) {                  // computadoras con uno o dos routers
+            int r = azar.nextInt(routers);
+            grafo.insertEdge(nodos[i], nodos[r], 1 + azar.nextInt(100));
+            if (azar.nextInt(4) == 0) {
+                grafo.insertEdge(nodos[i], nodos[(r + 1 + azar.nextInt(routers - 1)) % routers], 1 + azar.nextInt(100));
+            }
+        }
+        long conAristas = ocupado(memoria);
+
+        System.out.printf("%-12s %10d %14.1f %14.1f%n", nombre, grafo.numEdges(),
+                (double) (conVertices - base) / n, (double) (conAristas - conVertices) / grafo.numEdges());
+        if (grafo.numVertices() != nodos.length) {           // mantiene vivos el grafo y los vértices
+            throw new IllegalStateException();
+        }
+    }
+
+    /** Heap ocupado luego de forzar recolecciones hasta que deja de bajar. */
+    private static long ocupado(MemoryMXBean memoria) {
+        long anterior = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long actual = memoria.getHeapMemoryUsage().getUsed();
+            if (actual >= anterior) {
+                return Math.min(actual, anterior);
+            }
+            anterior = actual;
+        }
+        return anterior;
+    }
+}
@@ -8,12 +8,27 @@ import org.junit.jupiter.api.DisplayName;
 import red.datos.CargarParametros;
 import red.datos.Dato;
 import red.logica.Logica;
+import red.logica.ResultadoFallas;
+import red.logica.ResultadoFlujo;
+import red.logica.ResultadoLote;
+import red.logica.TablaRuteo;
+import net.datastructures.AdjacencyMapGraph;
+import net.datastructures.DynamicShortestPathTree;
+import net.datastructures.Edge;
+import net.datastructures.FlowNetwork;
+import net.datastructures.Graph;
+import net.datastructures.GraphAlgorithms;
+import net.datastructures.LRUCache;
+import net.datastructures.PathResult;
 import net.datastructures.PositionalList;
+import net.datastructures.ShortestPathTree;
 import net.datastructures.Vertex;
 import red.modelo.Conexion;
 import red.modelo.Equipo;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 /**
@@ -156,4 +171,558 @@ class LogicaTest {
             assertTrue(true);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Caso 6: Cambios de estado actualizan la topología activa")
+    void testCambioEstadoIncremental() {
+        long version = logica.getVersionTopologia();
+
+        // Con el enlace satelital rápido, PC16 -> PC12 debe tomarlo
+        logica.cambiarLatencia("10.0.3.1", "10.0.2.1", 1);
+        PositionalList<Vertex<Equipo>> atajo = logica.traceroute("10.0.3.51", "10.0.2.20");
+        assertEquals(4, atajo.size(), "Con latencia 1 el enlace satelital debería ser el camino óptimo.");
+
+        logica.cambiarEstadoConexion("10.0.3.1", "10.0.2.1", false);
+        PositionalList<Vertex<Equipo>> larga = logica.traceroute("10.0.3.51", "10.0.2.20");
+        assertTrue(larga.size() > 4, "Con el enlace satelital caído la ruta debe evitarlo.");
+
+        // Apagar Router17 deja aislada a PC16
+        logica.cambiarEstadoEquipo("10.0.3.1", false);
+        assertFalse(logica.ping("10.0.3.1"));
+        assertThrows(IllegalArgumentException.class, () -> logica.traceroute("10.0.3.51", "10.0.2.20"));
+
+        assertEquals(version + 3, logica.getVersionTopologia());
+    }
+
+    @Test
+    @DisplayName("Caso 7: Las rutas mantenidas se reparan igual que un cálculo desde cero")
+    void testRutasMantenidas() {
+        DynamicShortestPathTree<Equipo> mantenidas = logica.mantenerRutasDesde("10.0.3.51");
+
+        logica.cambiarLatencia("10.0.3.1", "10.0.2.1", 1);
+        assertEquals(4, logica.traceroute("10.0.3.51", "10.0.2.20").size());
+
+        logica.cambiarEstadoConexion("10.0.3.1", "10.0.2.1", false);
+        ShortestPathTree<Equipo> desdeCero = logica.rutasDesde("10.0.3.51");
+        for (Vertex<Equipo> v : desdeCero.distances().keySet()) {
+            assertEquals(desdeCero.distance(v), mantenidas.distance(v), "Distancia reparada distinta para " + v.getElement().getId());
+        }
+
+        // Al apagar el origen deja de mantenerse
+        logica.cambiarEstadoEquipo("10.0.3.51", false);
+        assertNull(logica.getRutasMantenidas());
+    }
+
+    @Test
+    @DisplayName("Caso 8: Traceroute por lotes con pares válidos e inválidos")
+    void testTracerouteLote() {
+        List<String[]> pares = Arrays.asList(
+                new String[]{"172.16.0.5", "192.168.5.0"},   // PC17 -> PC5
+                new String[]{"10.0.3.51", "10.0.2.20"},      // PC16 -> PC12
+                new String[]{"1.2.3.4", "10.0.2.20"},        // IP inexistente
+                new String[]{"172.16.0.5"},                  // par mal formado
+                new String[]{"172.16.0.5", "192.168.2.0"},   // PC2 queda aislada tras Router11
+                new String[]{"172.16.0.5", "10.0.2.20"});    // origen repetido
+
+        ResultadoLote lote = logica.tracerouteLote(pares);
+
+        assertEquals(6, lote.size());
+        assertEquals(2, lote.getCorridasDijkstra(), "Debe ejecutarse un Dijkstra por cada origen válido distinto.");
+        assertEquals(3, lote.getCantidadErrores());
+        for (int i : new int[]{0, 1, 5}) {
+            assertFalse(lote.tieneError(i), "El par " + i + " debería tener ruta.");
+            PositionalList<Vertex<Equipo>> esperada = logica.traceroute(pares.get(i)[0], pares.get(i)[1]);
+            assertEquals(esperada.size(), lote.getRuta(i).size());
+            assertEquals(pares.get(i)[0], lote.getRuta(i).first().getElement().getElement().getIpAddress());
+            assertEquals(pares.get(i)[1], lote.getRuta(i).last().getElement().getElement().getIpAddress());
+        }
+        for (int i : new int[]{2, 3, 4}) {
+            assertTrue(lote.tieneError(i), "El par " + i + " debería terminar con error.");
+            assertNull(lote.getRuta(i));
+        }
+        assertTrue(lote.getError(4).contains("PC2"), "El error sin ruta debe nombrar al destino.");
+
+        ResultadoLote repetido = logica.tracerouteLote(pares);
+        assertEquals(0, repetido.getCorridasDijkstra(), "Los orígenes ya calculados no deben volver a ejecutar Dijkstra.");
+        assertEquals(3, repetido.getCantidadErrores());
+    }
+
+    @Test
+    @DisplayName("Caso 9: Las caches se invalidan solo con cambios que afectan su resultado")
+    void testInvalidacionCaches() {
+        LRUCache<String, PositionalList<Vertex<Equipo>>> rutas = logica.getCacheRutas();
+        LRUCache<String, ?> flujos = logica.getCacheFlujos();
+        rutas.resetStatistics();
+        flujos.resetStatistics();
+
+        logica.traceroute("172.16.0.5", "10.0.2.20");
+        logica.traceroute("172.16.0.5", "10.0.2.20");
+        logica.analizarFlujoMaximo("172.16.0.5", "10.0.2.20");
+        logica.analizarFlujoMaximo("172.16.0.5", "10.0.2.20");
+        assertEquals(1, rutas.getMisses());
+        assertEquals(1, rutas.getHits());
+        assertEquals(1, flujos.getMisses());
+        assertEquals(1, flujos.getHits());
+
+        // El ancho de banda no cambia las rutas pero sí el flujo
+        logica.cambiarBandwidth("10.0.2.1", "10.0.0.2", 5000);
+        logica.traceroute("172.16.0.5", "10.0.2.20");
+        logica.analizarFlujoMaximo("172.16.0.5", "10.0.2.20");
+        assertEquals(2, rutas.getHits(), "Un cambio de ancho de banda no debe invalidar las rutas.");
+        assertEquals(2, flujos.getMisses(), "Un cambio de ancho de banda debe invalidar los flujos.");
+
+        // La latencia cambia las rutas pero no el flujo
+        logica.cambiarLatencia("10.0.2.1", "10.0.0.2", 3);
+        logica.traceroute("172.16.0.5", "10.0.2.20");
+        logica.analizarFlujoMaximo("172.16.0.5", "10.0.2.20");
+        assertEquals(2, rutas.getMisses(), "Un cambio de latencia debe invalidar las rutas.");
+        assertEquals(2, flujos.getHits(), "Un cambio de latencia no debe invalidar los flujos.");
+
+        // El estado de una conexión cambia ambos
+        logica.cambiarEstadoConexion("10.0.0.1", "10.0.0.2", false);
+        logica.traceroute("172.16.0.5", "10.0.2.20");
+        logica.analizarFlujoMaximo("172.16.0.5", "10.0.2.20");
+        assertEquals(3, rutas.getMisses(), "Un cambio de estado debe invalidar las rutas.");
+        assertEquals(3, flujos.getMisses(), "Un cambio de estado debe invalidar los flujos.");
+        assertEquals(2, rutas.getHits());
+        assertEquals(2, flujos.getHits());
+    }
+
+    @Test
+    @DisplayName("Caso 10: El corte mínimo acompaña al flujo máximo")
+    void testCorteMinimo() {
+        String[][] pares = {
+                {"10.0.3.51", "10.0.2.20"},    // PC16 -> PC12: dos cuellos de botella
+                {"172.16.0.5", "192.168.5.0"}, // PC17 -> PC5
+                {"10.0.1.15", "10.0.2.22"}};   // PC9 -> PC14
+        for (String[] par : pares) {
+            ResultadoFlujo resultado = logica.analizarFlujoMaximo(par[0], par[1]);
+            assertEquals(logica.calcularFlujoMaximo(par[0], par[1]), resultado.getFlujo());
+
+            int capacidadCorte = 0;
+            for (Conexion c : resultado.getCuellosDeBotella()) {
+                capacidadCorte += c.getBandwidth();
+            }
+            assertEquals(resultado.getFlujo(), capacidadCorte,
+                    "Los anchos de banda del corte deben sumar el flujo máximo de " + par[0] + " a " + par[1]);
+
+            boolean origen = false, destino = false;
+            for (Equipo e : resultado.getLadoOrigen()) {
+                origen |= e.getIpAddress().equals(par[0]);
+                destino |= e.getIpAddress().equals(par[1]);
+            }
+            assertTrue(origen, "El origen debe quedar del lado del origen.");
+            assertFalse(destino, "El destino no puede quedar del lado del origen.");
+        }
+        assertEquals(2, logica.analizarFlujoMaximo("10.0.3.51", "10.0.2.20").getCuellosDeBotella().size());
+    }
+
+    @Test
+    @DisplayName("Caso 11: El árbol de Gomory-Hu da el flujo máximo de todos los pares")
+    void testFlujoPorArbol() {
+        List<String> activos = new ArrayList<>();
+        for (Vertex<Equipo> v : logica.getGrafo().vertices()) {
+            if (v.getElement().isStatus()) {
+                activos.add(v.getElement().getIpAddress());
+            }
+        }
+        assertTrue(activos.size() > 2);
+        for (int i = 0; i < activos.size(); i++) {
+            for (int j = i + 1; j < activos.size(); j++) {
+                String a = activos.get(i), b = activos.get(j);
+                assertEquals(logica.calcularFlujoMaximo(a, b), logica.flujoMaximoPorArbol(a, b),
+                        "Flujo por árbol distinto entre " + a + " y " + b);
+            }
+        }
+        assertEquals(0, logica.flujoMaximoPorArbol("172.16.0.5", "192.168.2.0"),
+                "Equipos en componentes distintas no tienen flujo.");
+    }
+
+    @Test
+    @DisplayName("Caso 12: Escenarios de fallas sin modificar la red")
+    void testAnalizarFallas() {
+        List<List<String[]>> escenarios = Arrays.asList(
+                Arrays.<String[]>asList(),                                              // sin caídas
+                Arrays.<String[]>asList(new String[]{"10.0.3.1", "10.0.2.1"}),          // R17-R16: queda R17-R3
+                Arrays.asList(new String[]{"10.0.3.1", "10.0.2.1"},
+                        new String[]{"10.0.3.1", "192.168.3.1"}),                       // R17 queda aislado con PC16
+                Arrays.asList(new String[]{"10.0.2.1", "10.0.0.2"},
+                        new String[]{"10.0.0.2", "10.0.2.1"}),                          // conexión repetida
+                Arrays.<String[]>asList(new String[]{"192.168.7.0", "192.168.11.1"}),   // conexión ya inactiva
+                Arrays.<String[]>asList(new String[]{"10.0.1.1", "10.0.0.1"}));         // R15-R13 separa a R15
+        int[] componentes = {4, 4, 5, 4, 4, 5};
+        String[][] desconectados = {{}, {}, {"PC16", "Router17"}, {}, {}, {"PC10", "PC9", "Router15"}};
+
+        List<ResultadoFallas> resultados = logica.analizarFallas(escenarios);
+
+        assertEquals(escenarios.size(), resultados.size());
+        for (int i = 0; i < resultados.size(); i++) {
+            ResultadoFallas r = resultados.get(i);
+            assertEquals(componentes[i], r.getCantidadComponentes(), "Componentes del escenario " + i);
+            List<String> ids = new ArrayList<>();
+            for (Equipo e : r.getEquiposDesconectados()) {
+                ids.add(e.getId());
+            }
+            ids.sort(null);
+            assertEquals(Arrays.asList(desconectados[i]), ids, "Equipos desconectados del escenario " + i);
+            assertEquals(desconectados[i].length > 0, r.hayDesconexiones());
+        }
+
+        // El análisis no modifica la red
+        assertEquals(9, logica.traceroute("10.0.3.51", "10.0.2.20").size());
+        assertThrows(IllegalArgumentException.class,
+                () -> logica.analizarFallas(Arrays.asList(Arrays.<String[]>asList(new String[]{"10.0.3.51", "10.0.2.20"}))));
+    }
+
+    @Test
+    @DisplayName("Caso 13: Rutas alternativas ordenadas, sin ciclos ni repetidas")
+    void testRutasAlternativas() {
+        List<String[]> pares = Arrays.asList(
+                new String[]{"10.0.3.51", "10.0.2.20"},     // PC16 -> PC12
+                new String[]{"172.16.0.5", "192.168.5.0"},  // PC17 -> PC5
+                new String[]{"1.2.3.4", "10.0.2.20"},       // IP inexistente
+                new String[]{"10.0.3.51"});                 // par mal formado
+
+        List<List<PathResult<Equipo>>> lote = logica.rutasAlternativasLote(pares, 4);
+
+        assertEquals(pares.size(), lote.size());
+        for (int i = 0; i < 2; i++) {
+            String origen = pares.get(i)[0], destino = pares.get(i)[1];
+            List<PathResult<Equipo>> rutas = logica.rutasAlternativas(origen, destino, 4);
+            assertEquals(3, rutas.size(), "Hay tres rutas sin ciclos de " + origen + " a " + destino);
+            assertEquals(rutas.size(), lote.get(i).size());
+
+            List<List<String>> vistas = new ArrayList<>();
+            int anterior = 0;
+            for (int j = 0; j < rutas.size(); j++) {
+                PathResult<Equipo> ruta = rutas.get(j);
+                assertTrue(ruta.getLength() >= anterior, "Las rutas deben estar ordenadas por latencia.");
+                anterior = ruta.getLength();
+                assertEquals(ruta.getLength(), lote.get(i).get(j).getLength(), "El lote debe coincidir con la consulta individual.");
+
+                List<String> ips = new ArrayList<>();
+                for (Vertex<Equipo> v : ruta.getPath()) {
+                    assertFalse(ips.contains(v.getElement().getIpAddress()), "La ruta no puede repetir equipos.");
+                    ips.add(v.getElement().getIpAddress());
+                }
+                assertEquals(origen, ips.get(0));
+                assertEquals(destino, ips.get(ips.size() - 1));
+                assertFalse(vistas.contains(ips), "Las rutas no pueden repetirse.");
+                vistas.add(ips);
+            }
+            assertEquals(logica.traceroute(origen, destino).size(), rutas.get(0).getPath().size(),
+                    "La primera ruta es la más corta.");
+        }
+        assertTrue(lote.get(2).isEmpty(), "Un equipo inexistente da una lista vacía.");
+        assertTrue(lote.get(3).isEmpty(), "Un par mal formado da una lista vacía.");
+        assertEquals(Arrays.asList(54, 76, 518), latencias(lote.get(0)));
+        assertEquals(Arrays.asList(14, 38, 530), latencias(lote.get(1)));
+    }
+
+    private static List<Integer> latencias(List<PathResult<Equipo>> rutas) {
+        List<Integer> latencias = new ArrayList<>();
+        for (PathResult<Equipo> ruta : rutas) {
+            latencias.add(ruta.getLength());
+        }
+        return latencias;
+    }
+
+    @Test
+    @DisplayName("Caso 14: El flujo que parte del anterior coincide con uno calculado desde cero")
+    void testFlujoPartiendoDelAnterior() {
+        Logica tibia = logica;
+        setUp();                                    // segunda red, cargada de los mismos archivos
+        Logica fria = logica;
+        fria.configurarAlgoritmoFlujo(FlowNetwork.Algorithm.PUSH_RELABEL);
+
+        String origen = "10.0.3.51", destino = "10.0.2.20";              // PC16 -> PC12
+        assertEquals(60, tibia.analizarFlujoMaximo(origen, destino).getFlujo());
+        tibia.analizarFlujoMaximo("172.16.0.5", "192.168.5.0");           // otro par en la misma red residual
+
+        // Cuellos de botella R1-R2 (10) y R17-R16 (50): el flujo pasa por 100, 100, 6 (ambos por debajo
+        // del flujo vigente) y vuelve a 100
+        String[][] cambios = {
+                {"192.168.1.1", "192.168.2.1", "200"},
+                {"10.0.3.1", "10.0.2.1", "5"},
+                {"192.168.1.1", "192.168.2.1", "1"},
+                {"10.0.3.1", "10.0.2.1", "500"}};
+        for (String[] cambio : cambios) {
+            int bandwidth = Integer.parseInt(cambio[2]);
+            tibia.cambiarBandwidth(cambio[0], cambio[1], bandwidth);
+            fria.cambiarBandwidth(cambio[0], cambio[1], bandwidth);
+            for (String[] par : new String[][]{{origen, destino}, {"172.16.0.5", "192.168.5.0"}}) {
+                ResultadoFlujo caliente = tibia.analizarFlujoMaximo(par[0], par[1]);
+                ResultadoFlujo desdeCero = fria.analizarFlujoMaximo(par[0], par[1]);
+                assertEquals(desdeCero.getFlujo(), caliente.getFlujo(),
+                        "Flujo de " + par[0] + " a " + par[1] + " tras poner " + cambio[2] + " en " + cambio[0] + "-" + cambio[1]);
+                int capacidadCorte = 0;
+                for (Conexion c : caliente.getCuellosDeBotella()) {
+                    capacidadCorte += c.getBandwidth();
+                }
+                assertEquals(caliente.getFlujo(), capacidadCorte, "El corte debe seguir siendo mínimo.");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Caso 15: ALT da las mismas latencias que traceroute asentando menos equipos")
+    void testTracerouteALT() {
+        List<String> activos = ipsActivas();
+        int asentadosSinLandmarks = 0, asentadosConLandmarks = 0, pares = 0;
+        for (String origen : activos) {
+            for (String destino : activos) {
+                if (origen.equals(destino)) {
+                    continue;
+                }
+                int esperada;
+                try {
+                    esperada = latencia(logica.traceroute(origen, destino));
+                } catch (IllegalArgumentException e) {
+                    logica.configurarLandmarks(4);
+                    assertThrows(IllegalArgumentException.class, () -> logica.tracerouteALT(origen, destino),
+                            "ALT no puede encontrar ruta de " + origen + " a " + destino);
+                    logica.configurarLandmarks(0);
+                    continue;
+                }
+                PathResult<Equipo> dijkstra = logica.tracerouteALT(origen, destino);
+                logica.configurarLandmarks(4);
+                PathResult<Equipo> alt = logica.tracerouteALT(origen, destino);
+                logica.configurarLandmarks(0);
+
+                assertEquals(esperada, dijkstra.getLength());
+                assertEquals(esperada, alt.getLength(), "Latencia ALT distinta de " + origen + " a " + destino);
+                assertEquals(esperada, latencia(alt.getPath()));
+                assertEquals(origen, alt.getPath().first().getElement().getElement().getIpAddress());
+                assertEquals(destino, alt.getPath().last().getElement().getElement().getIpAddress());
+                asentadosSinLandmarks += dijkstra.getSettled();
+                asentadosConLandmarks += alt.getSettled();
+                pares++;
+            }
+        }
+        assertTrue(pares > 0);
+        assertTrue(asentadosConLandmarks < asentadosSinLandmarks,
+                "Los landmarks deben reducir los equipos asentados: " + asentadosConLandmarks + " contra " + asentadosSinLandmarks);
+    }
+
+    /** Direcciones IP de los equipos activos de la red. */
+    private List<String> ipsActivas() {
+        List<String> activos = new ArrayList<>();
+        for (Vertex<Equipo> v : logica.getGrafo().vertices()) {
+            if (v.getElement().isStatus()) {
+                activos.add(v.getElement().getIpAddress());
+            }
+        }
+        return activos;
+    }
+
+    /** Suma la latencia de las conexiones activas más rápidas entre equipos consecutivos de la ruta. */
+    private int latencia(PositionalList<Vertex<Equipo>> ruta) {
+        int total = 0;
+        Equipo anterior = null;
+        for (Vertex<Equipo> v : ruta) {
+            Equipo actual = v.getElement();
+            if (anterior != null) {
+                int mejor = Integer.MAX_VALUE;
+                for (Edge<Conexion> e : logica.getGrafo().edges()) {
+                    Conexion c = e.getElement();
+                    if (c.isStatus() && ((c.getSource() == anterior && c.getTarget() == actual)
+                            || (c.getSource() == actual && c.getTarget() == anterior))) {
+                        mejor = Math.min(mejor, c.getLatencia());
+                    }
+                }
+                assertTrue(mejor != Integer.MAX_VALUE, "La ruta usa una conexión inexistente o inactiva.");
+                total += mejor;
+            }
+            anterior = actual;
+        }
+        return total;
+    }
+
+    @Test
+    @DisplayName("Caso 16: El bosque mantenido ante cambios equivale a recalcularlo con Kruskal")
+    void testMSTIncremental() {
+        Logica incremental = logica;
+        setUp();                                    // segunda red, cargada de los mismos archivos
+        Logica kruskal = logica;
+        incremental.configurarMotorMST(Logica.MotorMST.INCREMENTAL);
+        kruskal.configurarMotorMST(Logica.MotorMST.KRUSKAL);
+        compararMST(incremental.MST(), kruskal.MST(), "la red inicial");
+
+        String[][] cambios = {
+                {"latencia", "10.0.3.1", "10.0.2.1", "1"},         // R17-R16 pasa a ser el enlace más rápido
+                {"latencia", "10.0.0.1", "192.168.1.1", "400"},    // R13-R1 se encarece
+                {"conexion", "10.0.0.1", "10.0.0.2", "false"},     // cae R13-R14
+                {"equipo", "10.0.3.1", "false"},                   // cae Router17
+                {"equipo", "192.168.11.1", "true"},                // vuelve Router11
+                {"conexion", "10.0.0.1", "10.0.0.2", "true"},
+                {"equipo", "10.0.3.1", "true"},
+                {"latencia", "10.0.3.1", "10.0.2.1", "500"}};
+        for (String[] cambio : cambios) {
+            for (Logica red : new Logica[]{incremental, kruskal}) {
+                switch (cambio[0]) {
+                    case "latencia":
+                        red.cambiarLatencia(cambio[1], cambio[2], Integer.parseInt(cambio[3]));
+                        break;
+                    case "conexion":
+                        red.cambiarEstadoConexion(cambio[1], cambio[2], Boolean.parseBoolean(cambio[3]));
+                        break;
+                    default:
+                        red.cambiarEstadoEquipo(cambio[1], Boolean.parseBoolean(cambio[2]));
+                }
+            }
+            compararMST(incremental.MST(), kruskal.MST(), String.join(" ", cambio));
+        }
+    }
+
+    /** Compara la cantidad de conexiones y la latencia total de dos árboles de expansión mínima. */
+    private static void compararMST(List<String> mantenido, List<String> recalculado, String despues) {
+        assertEquals(recalculado.size(), mantenido.size(), "Cantidad de conexiones del MST tras " + despues);
+        assertEquals(latenciaTotal(recalculado), latenciaTotal(mantenido), "Latencia total del MST tras " + despues);
+    }
+
+    /** Suma las latencias de las líneas "A <--> B [Latencia: N ms]" que devuelve MST(). */
+    private static int latenciaTotal(List<String> mst) {
+        int total = 0;
+        for (String linea : mst) {
+            int inicio = linea.indexOf("[Latencia: ") + "[Latencia: ".length();
+            total += Integer.parseInt(linea.substring(inicio, linea.indexOf(" ms]", inicio)));
+        }
+        return total;
+    }
+
+    @Test
+    @DisplayName("Caso 17: Kruskal y Boruvka devuelven exactamente las mismas conexiones")
+    void testMSTBoruvka() {
+        for (int paso = 0; paso < 3; paso++) {
+            logica.configurarMotorMST(Logica.MotorMST.KRUSKAL);
+            List<String> kruskal = logica.MST();
+            logica.configurarMotorMST(Logica.MotorMST.BORUVKA);
+            List<String> boruvka = logica.MST();
+            assertFalse(kruskal.isEmpty());
+            assertEquals(kruskal, boruvka, "Las conexiones difieren en el paso " + paso);
+
+            if (paso == 0) {
+                logica.cambiarEstadoConexion("10.0.0.1", "10.0.0.2", false);   // cae R13-R14
+            } else {
+                logica.cambiarEstadoEquipo("10.0.3.1", false);                 // cae Router17
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Caso 18: Dijkstra bidireccional coincide con el de un solo sentido")
+    void testDijkstraBidireccional() {
+        // Vista de latencias propia, con los equipos y conexiones activos
+        Graph<Equipo, Integer> activo = new AdjacencyMapGraph<>(false);
+        HashMap<Equipo, Vertex<Equipo>> vertices = new HashMap<>();
+        for (Vertex<Equipo> v : logica.getGrafo().vertices()) {
+            if (v.getElement().isStatus()) {
+                vertices.put(v.getElement(), activo.insertVertex(v.getElement()));
+            }
+        }
+        for (Edge<Conexion> e : logica.getGrafo().edges()) {
+            Conexion c = e.getElement();
+            Vertex<Equipo> a = vertices.get(c.getSource()), b = vertices.get(c.getTarget());
+            if (c.isStatus() && a != null && b != null && activo.getEdge(a, b) == null) {
+                activo.insertEdge(a, b, c.getLatencia());
+            }
+        }
+
+        int sinRuta = 0;
+        for (Vertex<Equipo> origen : activo.vertices()) {
+            for (Vertex<Equipo> destino : activo.vertices()) {
+                if (origen == destino) {
+                    continue;
+                }
+                String par = origen.getElement().getId() + " -> " + destino.getElement().getId();
+                PositionalList<Vertex<Equipo>> unSentido;
+                try {
+                    unSentido = GraphAlgorithms.shortestPathList(activo, origen, destino);
+                } catch (IllegalArgumentException e) {
+                    assertThrows(IllegalArgumentException.class,
+                            () -> GraphAlgorithms.bidirectionalShortestPath(activo, origen, destino), par);
+                    assertThrows(IllegalArgumentException.class, () -> logica.traceroute(
+                            origen.getElement().getIpAddress(), destino.getElement().getIpAddress()), par);
+                    sinRuta++;
+                    continue;
+                }
+                PositionalList<Vertex<Equipo>> bidireccional = GraphAlgorithms.bidirectionalShortestPath(activo, origen, destino);
+                assertSame(origen, bidireccional.first().getElement(), par);
+                assertSame(destino, bidireccional.last().getElement(), par);
+                assertEquals(latencia(activo, unSentido), latencia(activo, bidireccional), "Latencia de " + par);
+                assertEquals(latencia(activo, unSentido), latencia(logica.traceroute(
+                        origen.getElement().getIpAddress(), destino.getElement().getIpAddress())), "Traceroute de " + par);
+            }
+        }
+        assertTrue(sinRuta > 0, "La red tiene pares sin ruta, como PC17 y PC2.");
+    }
+
+    /** Suma los pesos de las aristas de g entre vértices consecutivos de la ruta. */
+    private static int latencia(Graph<Equipo, Integer> g, PositionalList<Vertex<Equipo>> ruta) {
+        int total = 0;
+        Vertex<Equipo> anterior = null;
+        for (Vertex<Equipo> v : ruta) {
+            if (anterior != null) {
+                Edge<Integer> e = g.getEdge(anterior, v);
+                assertNotNull(e, "La ruta usa una arista inexistente.");
+                total += e.getElement();
+            }
+            anterior = v;
+        }
+        return total;
+    }
+
+    @Test
+    @DisplayName("Caso 19: La tabla de ruteo paralela coincide con traceroute antes y después de un cambio")
+    void testTablaRuteo() {
+        TablaRuteo tabla = logica.getTablaRuteo();
+        logica.configurarCache(0);                  // traceroute consulta siempre la tabla o Dijkstra
+        List<String> activos = ipsActivas();
+        for (int paso = 0; paso < 2; paso++) {
+            // Latencias de referencia con Dijkstra bidireccional, sin la tabla
+            HashMap<String, Integer> esperadas = new HashMap<>();
+            for (String origen : activos) {
+                assertFalse(tabla.tieneOrigen(origen), "La tabla no debe estar vigente antes de reconstruirla.");
+                for (String destino : activos) {
+                    if (!origen.equals(destino)) {
+                        try {
+                            esperadas.put(origen + ">" + destino, latencia(logica.traceroute(origen, destino)));
+                        } catch (IllegalArgumentException e) {
+                            // sin ruta
+                        }
+                    }
+                }
+            }
+
+            tabla.reconstruir();
+            assertTrue(tabla.esValida());
+            for (String origen : activos) {
+                assertTrue(tabla.tieneOrigen(origen));
+                for (String destino : activos) {
+                    if (origen.equals(destino)) {
+                        continue;
+                    }
+                    Integer esperada = esperadas.get(origen + ">" + destino);
+                    PositionalList<Vertex<Equipo>> ruta = tabla.ruta(origen, destino);
+                    if (esperada == null) {
+                        assertNull(ruta);
+                        assertThrows(IllegalArgumentException.class, () -> logica.traceroute(origen, destino));
+                        continue;
+                    }
+                    assertNotNull(ruta, "La tabla no encontró ruta de " + origen + " a " + destino);
+                    assertEquals(origen, ruta.first().getElement().getElement().getIpAddress());
+                    assertEquals(destino, ruta.last().getElement().getElement().getIpAddress());
+                    assertEquals((int) esperada, latencia(ruta), "Latencia de la tabla de " + origen + " a " + destino);
+                    assertEquals((int) esperada, latencia(logica.traceroute(origen, destino)));
+                }
+            }
+
+            if (paso == 0) {
+                // Caen R13-R14 y R17-R3: cambian rutas y la tabla queda desactualizada por la versión de la vista
+                logica.cambiarEstadoConexion("10.0.0.1", "10.0.0.2", false);
+                logica.cambiarEstadoConexion("10.0.3.1", "192.168.3.1", false);
+                assertFalse(tabla.esValida());
+            }
+        }
+    }
+}